@@ -0,0 +1,30 @@
+package ru.practicum.shareit.batch;
+
+import java.util.List;
+
+import javax.validation.Valid;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/batch")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchControllerGateway {
+
+    private final BatchService batchService;
+
+    @PostMapping
+    public List<BatchSubResponseDto> postBatch(@RequestHeader("X-Sharer-User-Id") int userId,
+                                               @RequestBody List<@Valid BatchSubRequestDto> subRequests) {
+        return batchService.execute(userId, subRequests);
+    }
+}
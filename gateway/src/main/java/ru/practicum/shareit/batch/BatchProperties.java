@@ -0,0 +1,19 @@
+package ru.practicum.shareit.batch;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.batch")
+public class BatchProperties {
+
+    private int maxSize = 20;
+    /**
+     * Время ответа на один подзапрос, после которого в ответе пакета для него возвращается 504.
+     */
+    private Duration subRequestTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,238 @@
+package ru.practicum.shareit.batch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.booking.BookingControllerGateway;
+import ru.practicum.shareit.booking.BookingRequestDto;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.error_handler.ShareitException;
+import ru.practicum.shareit.item.CommentDto;
+import ru.practicum.shareit.item.ItemControllerGateway;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.request.ItemRequestControllerGateway;
+import ru.practicum.shareit.request.ItemRequestDto;
+import ru.practicum.shareit.user.UserControllerGateway;
+import ru.practicum.shareit.user.UserDto;
+
+/**
+ * Маршруты, доступные в пакетном запросе. Подзапрос разбирается так же, как одиночный запрос
+ * (параметры по умолчанию, проверка тела по аннотациям DTO), и передается в контроллер gateway,
+ * поэтому ограничения параметров (@Min) проверяются теми же правилами.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchRoutes {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<Route> routes = new ArrayList<>();
+    private final ObjectMapper mapper;
+    private final Validator validator;
+
+    public BatchRoutes(ObjectMapper mapper, Validator validator, BookingControllerGateway bookings,
+                       ItemControllerGateway items, ItemRequestControllerGateway requests,
+                       UserControllerGateway users) {
+        this.mapper = mapper;
+        this.validator = validator;
+
+        add(HttpMethod.GET, "/users", (userId, args) -> users.getAllUsers());
+        add(HttpMethod.GET, "/users/{userId:\\d+}", (userId, args) -> users.getUserById(args.pathInt("userId")));
+        add(HttpMethod.POST, "/users", (userId, args) -> users.postUser(args.body(UserDto.class)));
+        add(HttpMethod.PATCH, "/users/{userId:\\d+}",
+                (userId, args) -> users.updateUser(args.pathInt("userId"), args.body(UserDto.class, false)));
+        add(HttpMethod.DELETE, "/users/{userId:\\d+}", (userId, args) -> {
+            users.deleteUserById(args.pathInt("userId"));
+            return ResponseEntity.ok().build();
+        });
+
+        add(HttpMethod.GET, "/items", (userId, args) ->
+                items.getOwnerItems(userId, args.queryInt("from", 0), args.queryInt("size", 15)));
+        add(HttpMethod.GET, "/items/search", (userId, args) ->
+                items.searchItems(args.query("text", ""), args.queryInt("from", 0), args.query("after", null),
+                        args.queryInt("size", 15)));
+        add(HttpMethod.GET, "/items/{itemId:\\d+}",
+                (userId, args) -> items.getItemById(userId, args.pathInt("itemId")));
+        add(HttpMethod.POST, "/items", (userId, args) -> items.postItem(userId, args.body(ItemDto.class)));
+        add(HttpMethod.PATCH, "/items/{itemId:\\d+}", (userId, args) ->
+                items.updateItem(userId, args.pathInt("itemId"), args.body(ItemDto.class, false)));
+        add(HttpMethod.POST, "/items/{itemId:\\d+}/comment", (userId, args) ->
+                items.postComment(userId, args.pathInt("itemId"), args.body(CommentDto.class)));
+
+        add(HttpMethod.GET, "/bookings", (userId, args) -> bookings.getUserBookings(userId, args.state(),
+                args.queryInt("from", 0), args.query("after", null), args.queryInt("size", 15)));
+        add(HttpMethod.GET, "/bookings/owner", (userId, args) -> bookings.getOwnerItemsBookings(userId,
+                args.state(), args.queryInt("from", 0), args.query("after", null), args.queryInt("size", 15)));
+        add(HttpMethod.GET, "/bookings/{bookingId:\\d+}",
+                (userId, args) -> bookings.getBookingById(userId, args.pathInt("bookingId")));
+        add(HttpMethod.POST, "/bookings",
+                (userId, args) -> bookings.postBooking(userId, args.body(BookingRequestDto.class)));
+        add(HttpMethod.PATCH, "/bookings/{bookingId:\\d+}", (userId, args) ->
+                bookings.approveOrRejectBooking(userId, args.pathInt("bookingId"), args.requiredBoolean("approved")));
+
+        add(HttpMethod.GET, "/requests", (userId, args) -> requests.getUserRequests(userId));
+        add(HttpMethod.GET, "/requests/all", (userId, args) ->
+                requests.getAllRequests(userId, args.queryInt("from", 0), args.query("after", null),
+                        args.queryInt("size", 15)));
+        add(HttpMethod.GET, "/requests/{requestId:\\d+}",
+                (userId, args) -> requests.getRequestById(args.pathInt("requestId"), userId));
+        add(HttpMethod.POST, "/requests",
+                (userId, args) -> requests.postRequest(userId, args.body(ItemRequestDto.class)));
+    }
+
+    /**
+     * Выполняет подзапрос в текущем потоке.
+     *
+     * @throws ShareitException если маршрут не найден или подзапрос не прошел проверку
+     */
+    ResponseEntity<Object> call(int userId, BatchSubRequestDto subRequest) {
+        HttpMethod method = HttpMethod.resolve(subRequest.getMethod().toUpperCase());
+        UriComponents uri = UriComponentsBuilder.fromUriString(subRequest.getPath()).build();
+        String path = path(uri);
+        for (Route route : routes) {
+            if (route.method == method && PATH_MATCHER.match(route.pattern, path)) {
+                Arguments args = new Arguments(PATH_MATCHER.extractUriTemplateVariables(route.pattern, path),
+                        uri.getQueryParams(), subRequest.getBody());
+                return route.handler.handle(userId, args);
+            }
+        }
+        throw new ShareitException(HttpStatus.NOT_FOUND,
+                "Маршрут не поддерживается в пакетном запросе: " + subRequest.getMethod() + " " + path);
+    }
+
+    static String path(BatchSubRequestDto subRequest) {
+        return path(UriComponentsBuilder.fromUriString(subRequest.getPath()).build());
+    }
+
+    private static String path(UriComponents uri) {
+        return uri.getPath() == null ? "" : uri.getPath();
+    }
+
+    static boolean isRead(BatchSubRequestDto subRequest) {
+        return HttpMethod.GET.name().equalsIgnoreCase(subRequest.getMethod());
+    }
+
+    private void add(HttpMethod method, String pattern, Handler handler) {
+        routes.add(new Route(method, pattern, handler));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        ResponseEntity<Object> handle(int userId, Arguments args);
+    }
+
+    private static final class Route {
+        private final HttpMethod method;
+        private final String pattern;
+        private final Handler handler;
+
+        Route(HttpMethod method, String pattern, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.handler = handler;
+        }
+    }
+
+    private final class Arguments {
+        private final Map<String, String> pathVariables;
+        private final MultiValueMap<String, String> query;
+        private final JsonNode body;
+
+        Arguments(Map<String, String> pathVariables, MultiValueMap<String, String> query, JsonNode body) {
+            this.pathVariables = pathVariables;
+            this.query = query;
+            this.body = body;
+        }
+
+        int pathInt(String name) {
+            return Integer.parseInt(pathVariables.get(name));
+        }
+
+        String query(String name, String defaultValue) {
+            String value = query.getFirst(name);
+            return value == null ? defaultValue : UriUtils.decode(value, StandardCharsets.UTF_8);
+        }
+
+        int queryInt(String name, int defaultValue) {
+            String value = query(name, null);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new ShareitException(HttpStatus.BAD_REQUEST,
+                        "Failed to convert value of type 'java.lang.String' to required type 'int'; "
+                                + "For input string: \"" + value + "\"");
+            }
+        }
+
+        boolean requiredBoolean(String name) {
+            String value = query(name, null);
+            if (value == null) {
+                throw new ShareitException(HttpStatus.BAD_REQUEST, "Required request parameter '" + name
+                        + "' for method parameter type boolean is not present");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        BookingState state() {
+            String value = query("state", BookingState.ALL.name());
+            try {
+                return BookingState.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw new ShareitException(HttpStatus.BAD_REQUEST, "Unknown state: " + value);
+            }
+        }
+
+        <T> T body(Class<T> type) {
+            return body(type, true);
+        }
+
+        /**
+         * @param validate проверять ли тело по аннотациям DTO, как делает @Valid в контроллере
+         */
+        <T> T body(Class<T> type, boolean validate) {
+            if (body == null || body.isNull()) {
+                throw new ShareitException(HttpStatus.BAD_REQUEST, "Required request body is missing");
+            }
+            T value;
+            try {
+                value = mapper.treeToValue(body, type);
+            } catch (JsonProcessingException e) {
+                throw new ShareitException(HttpStatus.BAD_REQUEST, "JSON parse error: " + e.getOriginalMessage());
+            }
+            if (validate) {
+                Set<ConstraintViolation<T>> violations = validator.validate(value);
+                if (!violations.isEmpty()) {
+                    StringBuilder str = new StringBuilder();
+                    for (ConstraintViolation<T> violation : violations) {
+                        str.append(violation.getMessage());
+                    }
+                    throw new ShareitException(HttpStatus.BAD_REQUEST, str.toString());
+                }
+            }
+            return value;
+        }
+    }
+}
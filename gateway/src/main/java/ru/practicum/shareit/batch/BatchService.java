@@ -0,0 +1,147 @@
+package ru.practicum.shareit.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.validation.ConstraintViolationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.client.ResponseBodies;
+import ru.practicum.shareit.error_handler.ShareitException;
+import ru.practicum.shareit.ratelimit.RateLimitInterceptor;
+
+/**
+ * Выполняет пакет подзапросов одного пользователя. Идущие подряд GET выполняются параллельно
+ * в общем пуле задач (spring.task.execution.pool.*), изменяющие запросы - по одному в порядке пакета,
+ * после завершения предыдущих чтений. Ошибка или таймаут подзапроса не прерывает остальные.
+ * Каждый подзапрос расходует лимит запросов пользователя (shareit-gateway.rate-limit) так же, как одиночный.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(BatchProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchService {
+
+    private final BatchRoutes routes;
+    private final ThreadPoolTaskExecutor executor;
+    private final ObjectMapper mapper;
+    private final BatchProperties properties;
+    private final ObjectProvider<RateLimitInterceptor> rateLimiter;
+
+    public BatchService(BatchRoutes routes, ThreadPoolTaskExecutor executor, ObjectMapper mapper,
+                        BatchProperties properties, ObjectProvider<RateLimitInterceptor> rateLimiter) {
+        this.routes = routes;
+        this.executor = executor;
+        this.mapper = mapper;
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public List<BatchSubResponseDto> execute(int userId, List<BatchSubRequestDto> subRequests) {
+        if (subRequests.isEmpty() || subRequests.size() > properties.getMaxSize()) {
+            throw new ShareitException(HttpStatus.BAD_REQUEST,
+                    "Пакет должен содержать от 1 до " + properties.getMaxSize() + " запросов");
+        }
+        List<BatchSubResponseDto> responses = new ArrayList<>(subRequests.size());
+        List<Pending> reads = new ArrayList<>();
+        for (BatchSubRequestDto subRequest : subRequests) {
+            if (BatchRoutes.isRead(subRequest)) {
+                reads.add(submit(userId, subRequest));
+                continue;
+            }
+            awaitAll(reads, responses);
+            responses.add(await(submit(userId, subRequest)));
+        }
+        awaitAll(reads, responses);
+        return responses;
+    }
+
+    private Pending submit(int userId, BatchSubRequestDto subRequest) {
+        long deadline = System.nanoTime() + properties.getSubRequestTimeout().toNanos();
+        RateLimitInterceptor limiter = rateLimiter.getIfAvailable();
+        try {
+            if (limiter != null) {
+                limiter.consume(subRequest.getMethod(), BatchRoutes.path(subRequest), userId);
+            }
+            return new Pending(subRequest,
+                    CompletableFuture.supplyAsync(() -> routes.call(userId, subRequest), executor), deadline);
+        } catch (ShareitException e) {
+            return new Pending(subRequest, CompletableFuture.failedFuture(e), deadline);
+        } catch (TaskRejectedException e) {
+            return new Pending(subRequest, null, deadline);
+        }
+    }
+
+    private void awaitAll(List<Pending> pending, List<BatchSubResponseDto> responses) {
+        for (Pending p : pending) {
+            responses.add(await(p));
+        }
+        pending.clear();
+    }
+
+    private BatchSubResponseDto await(Pending pending) {
+        String name = pending.subRequest.getMethod() + " " + pending.subRequest.getPath();
+        if (pending.future == null) {
+            log.warn("Подзапрос {} отклонен: пул задач переполнен", name);
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Пул задач gateway переполнен");
+        }
+        try {
+            ResponseEntity<Object> response = pending.future.get(
+                    Math.max(0, pending.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new BatchSubResponseDto(response.getStatusCodeValue(),
+                    ResponseBodies.toJson(mapper, response.getBody()));
+        } catch (TimeoutException e) {
+            pending.future.whenComplete((response, ex) -> ResponseBodies.discard(response));
+            log.warn("Подзапрос {} не выполнен за {}", name, properties.getSubRequestTimeout());
+            return error(HttpStatus.GATEWAY_TIMEOUT, "Подзапрос не выполнен за " + properties.getSubRequestTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.whenComplete((response, ex) -> ResponseBodies.discard(response));
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Выполнение пакета прервано");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ShareitException) {
+                log.error(cause.getMessage());
+                return error(((ShareitException) cause).getStatus(), cause.getMessage());
+            }
+            if (cause instanceof ConstraintViolationException || cause instanceof IllegalArgumentException) {
+                log.error(cause.getMessage());
+                return error(HttpStatus.BAD_REQUEST, cause.getMessage());
+            }
+            log.error("Ошибка подзапроса {}", name, cause);
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+        }
+    }
+
+    private BatchSubResponseDto error(HttpStatus status, String message) {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("error", message);
+        return new BatchSubResponseDto(status.value(), body);
+    }
+
+    private static final class Pending {
+        private final BatchSubRequestDto subRequest;
+        private final CompletableFuture<ResponseEntity<Object>> future;
+        private final long deadline;
+
+        Pending(BatchSubRequestDto subRequest, CompletableFuture<ResponseEntity<Object>> future, long deadline) {
+            this.subRequest = subRequest;
+            this.future = future;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.batch;
+
+import javax.validation.constraints.NotBlank;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSubRequestDto {
+    @NotBlank
+    private String method;
+    /**
+     * Путь gateway вместе с параметрами, например /bookings/owner?state=WAITING.
+     */
+    @NotBlank
+    private String path;
+    private JsonNode body;
+}
@@ -4,20 +4,20 @@ import java.util.Map;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareitServerProperties;
 
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
 
-    public BookingClient(String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(ShareitServerProperties properties, RestTemplateBuilder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .build(),
+                properties
         );
     }
 
@@ -51,4 +51,30 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getUserBookingsAfter(int userId, BookingState state, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getOwnerItemsBookingsAfter(int userId, BookingState state, String after,
+                                                             Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> countUserBookings(int userId, BookingState state) {
+        return get("/count?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    public ResponseEntity<Object> countOwnerItemsBookings(int userId, BookingState state) {
+        return get("/owner/count?state={state}", userId, Map.of("state", state.name()));
+    }
 }
@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingControllerGateway {
 
     private final BookingClient bookingClient;
@@ -47,7 +49,11 @@ public class BookingControllerGateway {
     public ResponseEntity<Object> getUserBookings(@RequestHeader("X-Sharer-User-Id") int userId,
                                                   @RequestParam(defaultValue = "ALL") BookingState state,
                                                   @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                  @RequestParam(required = false) String after,
                                                   @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return bookingClient.getUserBookingsAfter(userId, state, after, size);
+        }
         return bookingClient.getUserBookings(userId, state, from, size);
     }
 
@@ -55,7 +61,23 @@ public class BookingControllerGateway {
     public ResponseEntity<Object> getOwnerItemsBookings(@RequestHeader("X-Sharer-User-Id") int userId,
                                                         @RequestParam(defaultValue = "ALL") BookingState state,
                                                         @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                        @RequestParam(required = false) String after,
                                                         @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return bookingClient.getOwnerItemsBookingsAfter(userId, state, after, size);
+        }
         return bookingClient.getOwnerItemsBookings(userId, state, from, size);
     }
+
+    @GetMapping("/count")
+    public ResponseEntity<Object> countUserBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                    @RequestParam(defaultValue = "ALL") BookingState state) {
+        return bookingClient.countUserBookings(userId, state);
+    }
+
+    @GetMapping("/owner/count")
+    public ResponseEntity<Object> countOwnerItemsBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                          @RequestParam(defaultValue = "ALL") BookingState state) {
+        return bookingClient.countOwnerItemsBookings(userId, state);
+    }
 }
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+public class ReactiveBookingClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(ShareitServerProperties properties, WebClient.Builder builder) {
+        super(builder.baseUrl(properties.getUrl() + API_PREFIX).build(), properties.getTimeout().getRead());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postBooking(int userId, BookingRequestDto bookingDto,
+                                                              @Nullable String idempotencyKey) {
+        return post("", userId, bookingDto, idempotencyKey);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrRejectBooking(int userId, int bookingId,
+                                                                         boolean approved) {
+        return patch("/" + bookingId + "?approved=" + approved, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingById(int userId, int bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserBookings(int userId, BookingState state, Integer from,
+                                                                  Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerItemsBookings(int userId, BookingState state,
+                                                                        Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserBookingsAfter(int userId, BookingState state, String after,
+                                                                       Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerItemsBookingsAfter(int userId, BookingState state,
+                                                                             String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "after", after,
+                "size", size
+        );
+        return get("/owner?state={state}&after={after}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countUserBookings(int userId, BookingState state) {
+        return get("/count?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countOwnerItemsBookings(int userId, BookingState state) {
+        return get("/owner/count?state={state}", userId, Map.of("state", state.name()));
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/bookings")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingControllerGateway {
+
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postBooking(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingRequestDto bookingDto) {
+        return bookingClient.postBooking(userId, bookingDto, idempotencyKey);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrRejectBooking(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @PathVariable int bookingId,
+            @RequestParam boolean approved) {
+        return bookingClient.approveOrRejectBooking(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingById(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                                 @PathVariable int bookingId) {
+        return bookingClient.getBookingById(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "0") @Min(0) int from,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return bookingClient.getUserBookingsAfter(userId, state, after, size);
+        }
+        return bookingClient.getUserBookings(userId, state, from, size);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerItemsBookings(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "0") @Min(0) int from,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return bookingClient.getOwnerItemsBookingsAfter(userId, state, after, size);
+        }
+        return bookingClient.getOwnerItemsBookings(userId, state, from, size);
+    }
+
+    @GetMapping("/count")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countUserBookings(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestParam(defaultValue = "ALL") BookingState state) {
+        return bookingClient.countUserBookings(userId, state);
+    }
+
+    @GetMapping("/owner/count")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countOwnerItemsBookings(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestParam(defaultValue = "ALL") BookingState state) {
+        return bookingClient.countOwnerItemsBookings(userId, state);
+    }
+}
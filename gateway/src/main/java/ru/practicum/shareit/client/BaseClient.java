@@ -1,22 +1,78 @@
 package ru.practicum.shareit.client;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.metrics.RequestTiming;
+import ru.practicum.shareit.tracing.TraceId;
 
 public class BaseClient {
+    /**
+     * Заголовок клиента передается в server, который по нему отдает сохраненный ответ на повторный POST.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    /**
+     * Сколько миллисекунд gateway будет ждать ответ; server отсчитывает срок от получения запроса по своим часам
+     * и ограничивает им время запросов к БД.
+     */
+    public static final String DEADLINE_HEADER = "X-Request-Timeout";
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
     protected final RestTemplate rest;
+    private final boolean passThrough;
+    private final MediaType wireType;
+    @Nullable
+    private final ObjectMapper smileMapper;
+    @Nullable
+    private final Duration deadline;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false, WireFormat.JSON, null);
+    }
+
+    public BaseClient(RestTemplate rest, ShareitServerProperties properties) {
+        this(rest, properties.isPassThrough(), properties.getWireFormat(), properties.getTimeout().getRead());
+    }
+
+    private BaseClient(RestTemplate rest, boolean passThrough, WireFormat wireFormat, @Nullable Duration deadline) {
         this.rest = rest;
+        this.passThrough = passThrough;
+        this.deadline = deadline;
+        if (wireFormat == WireFormat.SMILE && !passThrough) {
+            this.wireType = wireFormat.getMediaType();
+            this.smileMapper = rest.getMessageConverters().stream()
+                    .filter(MappingJackson2SmileHttpMessageConverter.class::isInstance)
+                    .map(converter -> ((MappingJackson2SmileHttpMessageConverter) converter).getObjectMapper())
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Нет конвертера Smile для shareit-server.wire-format"));
+        } else {
+            this.wireType = MediaType.APPLICATION_JSON;
+            this.smileMapper = null;
+        }
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -82,8 +138,27 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Время запроса учитывается в {@link RequestTiming}; в режиме pass-through - до получения заголовков ответа.
+     */
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Integer userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
+        long start = RequestTiming.upstreamStarted();
+        int status = 0;
+        try {
+            ResponseEntity<Object> response = sendRequest(method, path, userId, parameters, body);
+            status = response.getStatusCodeValue();
+            return response;
+        } finally {
+            RequestTiming.upstreamCompleted(start, method, status);
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Integer userId,
+                                                   @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (passThrough) {
+            return sendPassThroughRequest(method, path, userId, parameters, body);
+        }
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         ResponseEntity<Object> shareitServerResponse;
@@ -94,21 +169,116 @@ public class BaseClient {
                 shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            if (e.getResponseHeaders() != null) {
+                RequestTiming.serverTiming(e.getResponseHeaders().getFirst(SERVER_TIMING_HEADER));
+            }
+            return ResponseEntity.status(e.getStatusCode()).body(errorBody(e));
         }
+        RequestTiming.serverTiming(shareitServerResponse.getHeaders().getFirst(SERVER_TIMING_HEADER));
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    /**
+     * Тело ответа server не разбирается: клиенту возвращается поток, который
+     * {@link org.springframework.http.converter.ResourceHttpMessageConverter} копирует в ответ сервлета
+     * буфером фиксированного размера. Соединение возвращается в пул после копирования тела
+     * или по окончании обработки запроса, если тело так и не было прочитано.
+     */
+    private <T> ResponseEntity<Object> sendPassThroughRequest(HttpMethod method, String path, Integer userId,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable T body) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().putAll(defaultHeaders(userId));
+            if (body != null) {
+                writeBody(body, request);
+            }
+            response = request.execute();
+            RequestTiming.serverTiming(response.getHeaders().getFirst(SERVER_TIMING_HEADER));
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+        closeOnRequestCompletion(response);
+        try {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(HopByHopHeaders.remove(response.getHeaders()))
+                    .body(new InputStreamResource(new ResponseBodyInputStream(response)));
+        } catch (IOException e) {
+            response.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writeBody(T body, ClientHttpRequest request) throws IOException {
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<T>) converter).write(body, MediaType.APPLICATION_JSON, request);
+                return;
+            }
+        }
+        throw new RestClientException("No HttpMessageConverter for " + body.getClass().getName());
+    }
+
+    private static void closeOnRequestCompletion(ClientHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.registerDestructionCallback(BaseClient.class.getName() + "." + System.identityHashCode(response),
+                    response::close, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Тело ошибки в Smile разбирается, чтобы клиент получил его в JSON; в остальных случаях возвращается как есть.
+     */
+    private Object errorBody(HttpStatusCodeException e) {
+        byte[] body = e.getResponseBodyAsByteArray();
+        MediaType contentType = e.getResponseHeaders() != null ? e.getResponseHeaders().getContentType() : null;
+        if (smileMapper == null || body.length == 0 || !wireType.isCompatibleWith(contentType)) {
+            return body;
+        }
+        try {
+            return smileMapper.readTree(body);
+        } catch (IOException ex) {
+            return body;
+        }
+    }
+
     private HttpHeaders defaultHeaders(Integer userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(wireType);
+        headers.setAccept(List.of(wireType));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (deadline != null) {
+            headers.set(DEADLINE_HEADER, String.valueOf(deadline.toMillis()));
+        }
+        String traceId = TraceId.current();
+        if (traceId != null) {
+            headers.set(TraceId.HEADER, traceId);
+        }
+        String idempotencyKey = currentRequestHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
         return headers;
     }
 
+    @Nullable
+    private static String currentRequestHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(name);
+        }
+        return null;
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
             return response;
@@ -122,4 +292,18 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static class ResponseBodyInputStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseBodyInputStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
 }
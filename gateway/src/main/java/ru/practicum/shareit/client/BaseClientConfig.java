@@ -1,38 +1,151 @@
 package ru.practicum.shareit.client;
 
-import org.springframework.beans.factory.annotation.Value;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.request.ItemRequestClient;
 import ru.practicum.shareit.user.UserClient;
 
 @Configuration
+@EnableConfigurationProperties(ShareitServerProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BaseClientConfig {
-    @Value("${shareit-server.url}")
-    private String serverUrl;
+
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(ShareitServerProperties properties) {
+        ShareitServerProperties.Pool pool = properties.getPool();
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(pool.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(pool.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) pool.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
 
     @Bean
-    public BookingClient bookingClient(RestTemplateBuilder builder) {
-        return new BookingClient(serverUrl, builder);
+    public CloseableHttpClient shareitServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                       ShareitServerProperties properties) {
+        ShareitServerProperties.Timeout timeout = properties.getTimeout();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) timeout.getConnect().toMillis())
+                .setSocketTimeout((int) timeout.getRead().toMillis())
+                .setConnectionRequestTimeout((int) timeout.getPoolAcquire().toMillis())
+                .build();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getPool().getIdleEviction().toMillis(), TimeUnit.MILLISECONDS);
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
     }
 
     @Bean
-    public ItemClient itemClient(RestTemplateBuilder builder) {
-        return new ItemClient(serverUrl, builder);
+    public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
     }
 
     @Bean
-    public ItemRequestClient itemRequestClient(RestTemplateBuilder builder) {
-        return new ItemRequestClient(serverUrl, builder);
+    public MeterBinder shareitServerPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
     }
 
     @Bean
-    public UserClient userClient(RestTemplateBuilder builder) {
-        return new UserClient(serverUrl, builder);
+    @ConditionalOnProperty(prefix = "shareit-server.cache", name = "enabled", matchIfMissing = true)
+    public ResponseCacheInterceptor shareitServerResponseCache(ShareitServerProperties properties) {
+        return new ResponseCacheInterceptor(properties.getCache());
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.coalescing", name = "enabled", matchIfMissing = true)
+    public RequestCoalescingInterceptor shareitServerRequestCoalescing(ShareitServerProperties properties) {
+        return new RequestCoalescingInterceptor(properties.getCoalescing().getMaxWait());
+    }
 
-}
\ No newline at end of file
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.limiter", name = "enabled", matchIfMissing = true)
+    public ConcurrencyLimitInterceptor shareitServerConcurrencyLimit(ShareitServerProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitInterceptor(properties.getLimiter(), meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "shareit-server", name = "urls")
+    public LoadBalancingInterceptor shareitServerLoadBalancer(ShareitServerProperties properties,
+                                                              ClientHttpRequestFactory requestFactory,
+                                                              MeterRegistry meterRegistry) {
+        return new LoadBalancingInterceptor(properties, requestFactory, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "shareit-server.hedging", name = "enabled")
+    public HedgingInterceptor shareitServerHedging(ShareitServerProperties properties,
+                                                   ObjectProvider<LoadBalancingInterceptor> balancer,
+                                                   MeterRegistry meterRegistry) {
+        return new HedgingInterceptor(properties.getHedging(), balancer.getIfAvailable(), meterRegistry);
+    }
+
+    @Bean
+    public BookingClient bookingClient(RestTemplateBuilder builder, ShareitServerProperties properties,
+                                       ClientHttpRequestFactory requestFactory,
+                                       ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        return new BookingClient(properties, clientBuilder(builder, requestFactory, interceptors));
+    }
+
+    @Bean
+    public ItemClient itemClient(RestTemplateBuilder builder, ShareitServerProperties properties,
+                                 ClientHttpRequestFactory requestFactory,
+                                 ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        return new ItemClient(properties, clientBuilder(builder, requestFactory, interceptors));
+    }
+
+    @Bean
+    public ItemRequestClient itemRequestClient(RestTemplateBuilder builder, ShareitServerProperties properties,
+                                               ClientHttpRequestFactory requestFactory,
+                                               ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        return new ItemRequestClient(properties, clientBuilder(builder, requestFactory, interceptors));
+    }
+
+    @Bean
+    public UserClient userClient(RestTemplateBuilder builder, ShareitServerProperties properties,
+                                 ClientHttpRequestFactory requestFactory,
+                                 ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        return new UserClient(properties, clientBuilder(builder, requestFactory, interceptors));
+    }
+
+    /**
+     * Все клиенты работают через общий пул соединений и одну цепочку перехватчиков,
+     * упорядоченную по {@link org.springframework.core.Ordered}.
+     */
+    private static RestTemplateBuilder clientBuilder(RestTemplateBuilder builder,
+                                                     ClientHttpRequestFactory requestFactory,
+                                                     ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(interceptors.orderedStream().collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Ответ server, полностью прочитанный в память. Соединение возвращается в пул сразу после чтения,
+ * а сам ответ можно отдавать несколько раз: каждый вызов {@link #getBody()} читает тело с начала.
+ */
+final class BufferedClientHttpResponse implements ClientHttpResponse {
+    private final int rawStatusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private BufferedClientHttpResponse(int rawStatusCode, String statusText, HttpHeaders headers, byte[] body) {
+        this.rawStatusCode = rawStatusCode;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    static BufferedClientHttpResponse read(ClientHttpResponse response) throws IOException {
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new BufferedClientHttpResponse(response.getRawStatusCode(), response.getStatusText(), headers,
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+    }
+
+    /**
+     * Копия ответа без заголовков, относящихся к конкретному запросу; тело не копируется.
+     */
+    BufferedClientHttpResponse withoutHeaders(Collection<String> names) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        names.forEach(copy::remove);
+        return new BufferedClientHttpResponse(rawStatusCode, statusText, copy, body);
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(rawStatusCode);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return rawStatusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.error_handler.ShareitRetryLaterException;
+
+/**
+ * Адаптивный лимит одновременных запросов к server для каждого маршрута (метод и путь, в котором
+ * идентификаторы заменены на {id}). Лимит подстраивается по времени ответа server ({@link VegasLimit}),
+ * запросы сверх лимита сразу отклоняются с 503 и Retry-After, не дожидаясь таймаутов.
+ */
+public class ConcurrencyLimitInterceptor implements ClientHttpRequestInterceptor, Ordered {
+
+    public static final int ORDER = RequestCoalescingInterceptor.ORDER + 100;
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final ShareitServerProperties.Limiter properties;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ShareitServerProperties.Limiter properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String route = request.getMethodValue() + " " + ID_SEGMENT.matcher(request.getURI().getPath())
+                .replaceAll("/{id}");
+        RouteLimit routeLimit = limits.computeIfAbsent(route, r -> newRouteLimit(r, request.getMethod()));
+        if (!routeLimit.limit.tryAcquire()) {
+            routeLimit.rejected.increment();
+            throw new ShareitRetryLaterException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Превышен лимит одновременных запросов " + route, properties.getRetryAfter());
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int status = response.getRawStatusCode();
+            dropped = status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+            return response;
+        } finally {
+            routeLimit.limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private RouteLimit newRouteLimit(String route, HttpMethod method) {
+        boolean read = method == HttpMethod.GET || method == HttpMethod.HEAD;
+        ShareitServerProperties.LimitBounds bounds = read ? properties.getRead() : properties.getWrite();
+        VegasLimit limit = new VegasLimit(bounds.getInitialLimit(), bounds.getMinLimit(), bounds.getMaxLimit());
+        Tags tags = Tags.of("route", route, "type", read ? "read" : "write");
+        Gauge.builder("gateway.limiter.limit", limit, VegasLimit::getLimit)
+                .description("Текущий лимит одновременных запросов к server")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("gateway.limiter.inflight", limit, VegasLimit::getInFlight)
+                .description("Запросы к server, ожидающие ответа")
+                .tags(tags)
+                .register(registry);
+        Counter rejected = Counter.builder("gateway.limiter.rejected")
+                .description("Запросы, отклоненные с 503")
+                .tags(tags)
+                .register(registry);
+        return new RouteLimit(limit, rejected);
+    }
+
+    private static final class RouteLimit {
+        private final VegasLimit limit;
+        private final Counter rejected;
+
+        RouteLimit(VegasLimit limit, Counter rejected) {
+            this.limit = limit;
+            this.rejected = rejected;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+/**
+ * Повторяет GET к маршрутам из shareit-server.hedging.routes, если server не ответил за процентиль недавних
+ * ответов маршрута; клиенту отдается первый полученный ответ, второй закрывается. Повторный запрос уходит
+ * на другой экземпляр, если их несколько; каждая попытка учитывается балансировщиком на своем экземпляре.
+ * Доля повторных запросов ограничена budget-percent.
+ * <p>
+ * Интерсептор стоит последним: цепочка интерсепторов проходится один раз, а повторный вызов execution
+ * отправляет запрос сразу в server, минуя остальные интерсепторы.
+ */
+@Slf4j
+public class HedgingInterceptor implements ClientHttpRequestInterceptor, Ordered {
+
+    public static final int ORDER = LoadBalancingInterceptor.ORDER + 100;
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    /**
+     * Один повторный запрос стоит 100 единиц бюджета, каждый запрос пополняет бюджет на budget-percent единиц.
+     */
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final List<Route> routes = new ArrayList<>();
+    private final int budgetPercent;
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+    @Nullable
+    private final LoadBalancingInterceptor balancer;
+    private final ThreadPoolExecutor executor;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter budgetExhausted;
+
+    public HedgingInterceptor(ShareitServerProperties.Hedging properties, @Nullable LoadBalancingInterceptor balancer,
+                              MeterRegistry registry) {
+        for (String pattern : properties.getRoutes()) {
+            routes.add(new Route(pattern, new LatencyWindow(properties.getPercentile(),
+                    properties.getInitialDelay().toNanos(), properties.getMinDelay().toNanos()), registry));
+        }
+        this.budgetPercent = properties.getBudgetPercent();
+        this.balancer = balancer;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, properties.getMaxThreads(), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "shareit-server-hedging-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sent = Counter.builder("gateway.hedging.sent")
+                .description("Отправленные повторные запросы")
+                .register(registry);
+        this.won = Counter.builder("gateway.hedging.won")
+                .description("Повторные запросы, ответ на которые пришел раньше ответа на исходный")
+                .register(registry);
+        this.budgetExhausted = Counter.builder("gateway.hedging.budget.exhausted")
+                .description("Повторные запросы, не отправленные из-за исчерпанного бюджета")
+                .register(registry);
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Route route = request.getMethod() == HttpMethod.GET ? findRoute(request.getURI().getPath()) : null;
+        if (route == null) {
+            return execution.execute(request, body);
+        }
+        budget.getAndUpdate(b -> Math.min(MAX_BUDGET, b + budgetPercent));
+        Race race = new Race(route);
+        LoadBalancingInterceptor.Attempt primary = balancer != null ? balancer.takeOver(request) : null;
+        try {
+            race.start(request, body, execution, primary, false);
+        } catch (RejectedExecutionException e) {
+            if (primary != null) {
+                balancer.giveBack(request);
+            }
+            return execution.execute(request, body);
+        }
+        try {
+            return race.result.get(route.latencies.percentileNanos(), TimeUnit.NANOSECONDS).response;
+        } catch (TimeoutException e) {
+            hedge(race, request, body, execution, primary);
+            return await(race);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            race.abandon();
+            throw new IOException("Ожидание ответа server прервано", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private void hedge(Race race, HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+                       @Nullable LoadBalancingInterceptor.Attempt primary) {
+        if (budget.getAndUpdate(b -> b >= HEDGE_COST ? b - HEDGE_COST : b) < HEDGE_COST) {
+            budgetExhausted.increment();
+            return;
+        }
+        LoadBalancingInterceptor.Attempt alternative = primary != null ? balancer.alternative(primary) : null;
+        HttpRequest hedged = alternative != null ? alternative.route(request) : request;
+        try {
+            race.start(hedged, body, execution, alternative, true);
+            sent.increment();
+        } catch (RejectedExecutionException e) {
+            if (alternative != null) {
+                alternative.completed(null);
+            }
+            budget.getAndUpdate(b -> Math.min(MAX_BUDGET, b + HEDGE_COST));
+            log.debug("Повторный запрос {} не отправлен: нет свободных потоков", request.getURI());
+        }
+    }
+
+    private ClientHttpResponse await(Race race) throws IOException {
+        try {
+            Outcome outcome = race.result.get();
+            if (outcome.hedge) {
+                won.increment();
+            }
+            return outcome.response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            race.abandon();
+            throw new IOException("Ожидание ответа server прервано", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static IOException rethrow(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(cause);
+    }
+
+    private Route findRoute(String path) {
+        for (Route route : routes) {
+            if (PATH_MATCHER.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Исходный и повторный запросы: результат - первый полученный ответ, ошибка - только если не ответил ни один.
+     */
+    private final class Race {
+        private final Route route;
+        private final CompletableFuture<Outcome> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        Race(Route route) {
+            this.route = route;
+        }
+
+        /**
+         * @param attempt учет попытки в балансировщике; null, если экземпляр один
+         */
+        void start(HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+                   @Nullable LoadBalancingInterceptor.Attempt attempt, boolean hedge) {
+            pending.incrementAndGet();
+            try {
+                executor.execute(() -> run(request, body, execution, attempt, hedge));
+            } catch (RejectedExecutionException e) {
+                pending.decrementAndGet();
+                throw e;
+            }
+        }
+
+        /**
+         * Ответ, который придет после того, как вызывающий перестал ждать, закрывается.
+         */
+        void abandon() {
+            result.whenComplete((outcome, e) -> {
+                if (outcome != null) {
+                    outcome.response.close();
+                }
+            });
+        }
+
+        private void run(HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+                         @Nullable LoadBalancingInterceptor.Attempt attempt, boolean hedge) {
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                if (attempt != null) {
+                    attempt.completed(null);
+                }
+                if (pending.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+                return;
+            }
+            if (attempt != null) {
+                attempt.completed(response);
+            }
+            route.latencies.record(System.nanoTime() - start);
+            if (!result.complete(new Outcome(response, hedge))) {
+                response.close();
+            }
+            pending.decrementAndGet();
+        }
+    }
+
+    private static final class Outcome {
+        private final ClientHttpResponse response;
+        private final boolean hedge;
+
+        Outcome(ClientHttpResponse response, boolean hedge) {
+            this.response = response;
+            this.hedge = hedge;
+        }
+    }
+
+    private static final class Route {
+        private final String pattern;
+        private final LatencyWindow latencies;
+
+        Route(String pattern, LatencyWindow latencies, MeterRegistry registry) {
+            this.pattern = pattern;
+            this.latencies = latencies;
+            Gauge.builder("gateway.hedging.delay", latencies, l -> l.percentileNanos() / 1e6)
+                    .description("Задержка перед повторным запросом, мс")
+                    .tag("route", pattern)
+                    .register(registry);
+        }
+    }
+}
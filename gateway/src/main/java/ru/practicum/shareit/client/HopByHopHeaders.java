@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Заголовки, которые относятся к соединению gateway - server и не должны уходить клиенту.
+ */
+final class HopByHopHeaders {
+    private static final Set<String> NAMES = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase()
+    );
+
+    private HopByHopHeaders() {
+    }
+
+    static HttpHeaders remove(HttpHeaders upstreamHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        upstreamHeaders.forEach((name, values) -> {
+            if (!NAMES.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+        return headers;
+    }
+}
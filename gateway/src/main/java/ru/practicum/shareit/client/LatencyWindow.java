@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Последние {@value #SIZE} времен ответа маршрута. Процентиль пересчитывается каждые {@value #RECOMPUTE_EVERY}
+ * записей, между пересчетами читается готовое значение.
+ */
+final class LatencyWindow {
+
+    private static final int SIZE = 1024;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final long initialNanos;
+    private final long minNanos;
+    private volatile long percentileNanos;
+
+    LatencyWindow(double percentile, long initialNanos, long minNanos) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Процентиль должен быть между 0 и 1: " + percentile);
+        }
+        this.percentile = percentile;
+        this.initialNanos = initialNanos;
+        this.minNanos = minNanos;
+        this.percentileNanos = initialNanos;
+    }
+
+    void record(long nanos) {
+        long n = recorded.getAndIncrement();
+        samples.set((int) (n % SIZE), nanos);
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(n + 1, SIZE));
+        }
+    }
+
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(int count) {
+        if (count < RECOMPUTE_EVERY) {
+            percentileNanos = initialNanos;
+            return;
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        percentileNanos = Math.max(minNanos, sorted[(int) Math.ceil(percentile * count) - 1]);
+    }
+}
@@ -0,0 +1,267 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.lang.Nullable;
+
+/**
+ * Распределяет запросы между экземплярами server из shareit-server.urls. Из двух случайных экземпляров
+ * в ротации выбирается тот, у которого меньше запросов без ответа (power of two choices).
+ * Экземпляр выходит из ротации, если не проходит периодическую проверку /actuator/health или отвечает
+ * ошибками подряд; если в ротации никого не осталось, запросы распределяются между всеми экземплярами.
+ * <p>
+ * Запросы без ответа, время и ошибки учитываются для каждой попытки на своем экземпляре: если запрос
+ * повторяет {@link HedgingInterceptor}, он забирает учет исходной попытки и ведет учет повторной.
+ */
+@Slf4j
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor, Ordered {
+
+    public static final int ORDER = ConcurrencyLimitInterceptor.ORDER + 100;
+
+    private final ServerInstance[] instances;
+    private volatile ServerInstance[] available;
+    private final ShareitServerProperties.Balancer properties;
+    private final ClientHttpRequestFactory healthCheckRequestFactory;
+    private final long ejectionNanos;
+    private ScheduledExecutorService healthChecker;
+
+    public LoadBalancingInterceptor(ShareitServerProperties properties,
+                                    ClientHttpRequestFactory healthCheckRequestFactory,
+                                    MeterRegistry registry) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalArgumentException("Не заданы адреса экземпляров server (shareit-server.urls)");
+        }
+        this.instances = properties.getUrls().stream()
+                .map(url -> new ServerInstance(url, registry))
+                .toArray(ServerInstance[]::new);
+        this.available = instances;
+        this.properties = properties.getBalancer();
+        this.healthCheckRequestFactory = healthCheckRequestFactory;
+        this.ejectionNanos = this.properties.getEjectionTime().toNanos();
+    }
+
+    public void start() {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Attempt attempt = new Attempt(choose());
+        RoutedRequest routed = new RoutedRequest(request, attempt);
+        ClientHttpResponse response = null;
+        try {
+            response = execution.execute(routed, body);
+            return response;
+        } finally {
+            if (!routed.delegated) {
+                attempt.completed(response);
+            }
+        }
+    }
+
+    /**
+     * Проверяет все экземпляры; вызывается по расписанию каждые health-check-interval.
+     */
+    public void checkHealth() {
+        for (ServerInstance instance : instances) {
+            boolean healthy = isHealthy(instance);
+            if (instance.setHealthy(healthy)) {
+                log.info("Проверка экземпляра server {}: {}", instance, healthy ? "доступен" : "недоступен");
+            }
+        }
+        refreshAvailable();
+    }
+
+    /**
+     * Забирает учет попытки, которую начал этот балансировщик: дальше вызывающий сам сообщает о ее завершении
+     * через {@link Attempt#completed}.
+     *
+     * @return null, если запрос прошел не через балансировщик
+     */
+    @Nullable
+    Attempt takeOver(HttpRequest request) {
+        if (!(request instanceof RoutedRequest)) {
+            return null;
+        }
+        RoutedRequest routed = (RoutedRequest) request;
+        routed.delegated = true;
+        return routed.attempt;
+    }
+
+    /**
+     * Возвращает учет попытки балансировщику, если вызывающий так и не начал ее выполнять.
+     */
+    void giveBack(HttpRequest request) {
+        if (request instanceof RoutedRequest) {
+            ((RoutedRequest) request).delegated = false;
+        }
+    }
+
+    /**
+     * Начинает попытку того же запроса на наименее загруженном из остальных экземпляров в ротации.
+     *
+     * @return null, если других экземпляров в ротации нет
+     */
+    @Nullable
+    Attempt alternative(Attempt primary) {
+        ServerInstance best = null;
+        for (ServerInstance instance : available) {
+            if (instance != primary.instance
+                    && (best == null || instance.getOutstanding() < best.getOutstanding())) {
+                best = instance;
+            }
+        }
+        return best != null ? new Attempt(best) : null;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private ServerInstance choose() {
+        ServerInstance[] candidates = available;
+        if (candidates.length == 0) {
+            candidates = instances;
+        }
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.length);
+        int second = random.nextInt(candidates.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerInstance a = candidates[first];
+        ServerInstance b = candidates[second];
+        return a.getOutstanding() <= b.getOutstanding() ? a : b;
+    }
+
+    private boolean isHealthy(ServerInstance instance) {
+        try (ClientHttpResponse response = healthCheckRequestFactory
+                .createRequest(instance.healthUri(properties.getHealthPath()), HttpMethod.GET)
+                .execute()) {
+            return response.getStatusCode().is2xxSuccessful();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Проверка экземпляра server {} не прошла: {}", instance, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Ошибка экземпляра - нет соединения, таймаут или 502/503. Остальные 5xx, в том числе 504 по истекшему
+     * сроку запроса, говорят о медленном или неудачном запросе, а не о неисправном экземпляре.
+     */
+    private static boolean isFailure(@Nullable ClientHttpResponse response) {
+        if (response == null) {
+            return true;
+        }
+        try {
+            int status = response.getRawStatusCode();
+            return status == HttpStatus.BAD_GATEWAY.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private synchronized void refreshAvailable() {
+        long now = System.nanoTime();
+        List<ServerInstance> inRotation = new ArrayList<>(instances.length);
+        for (ServerInstance instance : instances) {
+            instance.expireEjection(now);
+            if (instance.isAvailable()) {
+                inRotation.add(instance);
+            }
+        }
+        available = inRotation.toArray(new ServerInstance[0]);
+    }
+
+    /**
+     * Запрос к одному экземпляру: учитывается в его запросах без ответа с создания до {@link #completed}.
+     */
+    final class Attempt {
+        private final ServerInstance instance;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Attempt(ServerInstance instance) {
+            this.instance = instance;
+            instance.requestStarted();
+        }
+
+        HttpRequest route(HttpRequest request) {
+            URI uri = instance.resolve(request.getURI());
+            return new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+            };
+        }
+
+        /**
+         * @param response ответ экземпляра; null, если запрос завершился ошибкой ввода-вывода
+         */
+        void completed(@Nullable ClientHttpResponse response) {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            if (instance.requestCompleted(System.nanoTime() - start, isFailure(response),
+                    properties.getMaxConsecutiveFailures(), ejectionNanos)) {
+                log.warn("Экземпляр server {} исключен из ротации после {} ошибок подряд", instance,
+                        properties.getMaxConsecutiveFailures());
+                refreshAvailable();
+            }
+        }
+    }
+
+    private static final class RoutedRequest extends HttpRequestWrapper {
+        private final Attempt attempt;
+        private final URI uri;
+        private boolean delegated;
+
+        RoutedRequest(HttpRequest request, Attempt attempt) {
+            super(request);
+            this.attempt = attempt;
+            this.uri = attempt.instance.resolve(request.getURI());
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+    }
+}
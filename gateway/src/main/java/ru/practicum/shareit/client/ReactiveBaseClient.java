@@ -0,0 +1,136 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.tracing.TraceId;
+
+/**
+ * Неблокирующий аналог {@link BaseClient}: ответ server (включая ошибки) передается клиенту потоком буферов,
+ * поток обработчика не ждет ответа server.
+ */
+public class ReactiveBaseClient {
+    protected final WebClient webClient;
+    @Nullable
+    private final Duration deadline;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this(webClient, null);
+    }
+
+    public ReactiveBaseClient(WebClient webClient, @Nullable Duration deadline) {
+        this.webClient = webClient;
+        this.deadline = deadline;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, int userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Integer userId,
+                                                         @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, int userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    /**
+     * В реактивном режиме нет контекста запроса, как у {@link BaseClient}, поэтому Idempotency-Key клиента
+     * передается явно из обработчика.
+     */
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, int userId, T body,
+                                                              @Nullable String idempotencyKey) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body, idempotencyKey);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, Integer userId,
+                                                              @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, int userId) {
+        return patch(path, userId, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, int userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Integer userId,
+                                                               @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> makeAndSendRequest(HttpMethod method, String path,
+                                                                          Integer userId,
+                                                                          @Nullable Map<String, Object> parameters,
+                                                                          @Nullable T body,
+                                                                          @Nullable String idempotencyKey) {
+        return Mono.deferContextual(context -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(headers -> defaultHeaders(headers, userId, idempotencyKey,
+                            context.getOrDefault(TraceId.MDC_KEY, null)));
+            WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+            return requestWithBody.retrieve()
+                    .onStatus(status -> true, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .map(ReactiveBaseClient::prepareGatewayResponse);
+        });
+    }
+
+    /**
+     * @param traceId идентификатор из контекста Reactor, см. {@link ru.practicum.shareit.tracing.ReactiveTraceIdFilter}
+     */
+    private void defaultHeaders(HttpHeaders headers, Integer userId, @Nullable String idempotencyKey,
+                                @Nullable String traceId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        if (deadline != null) {
+            headers.set(BaseClient.DEADLINE_HEADER, String.valueOf(deadline.toMillis()));
+        }
+        if (idempotencyKey != null) {
+            headers.set(BaseClient.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        if (traceId != null) {
+            headers.set(TraceId.HEADER, traceId);
+        }
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(HopByHopHeaders.remove(response.getHeaders()))
+                .body(response.getBody());
+    }
+}
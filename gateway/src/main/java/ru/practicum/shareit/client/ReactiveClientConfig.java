@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.booking.ReactiveBookingClient;
+import ru.practicum.shareit.item.ReactiveItemClient;
+import ru.practicum.shareit.request.ReactiveItemRequestClient;
+import ru.practicum.shareit.user.ReactiveUserClient;
+
+/**
+ * Клиенты неблокирующего движка gateway. Включается вместо {@link BaseClientConfig} при
+ * spring.main.web-application-type=reactive и использует те же настройки shareit-server.*.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(ShareitServerProperties.class)
+public class ReactiveClientConfig {
+
+    /**
+     * Tomcat тоже есть в classpath (для блокирующего движка), поэтому без явной фабрики
+     * reactive-приложение запустилось бы на Tomcat. Неблокирующий движок работает на Reactor Netty.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(ShareitServerProperties properties) {
+        ShareitServerProperties.Pool pool = properties.getPool();
+        // пул Reactor Netty создается на каждый адрес server, поэтому его размер - это max-per-route
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(pool.getMaxPerRoute())
+                .pendingAcquireTimeout(properties.getTimeout().getPoolAcquire())
+                .maxIdleTime(pool.getIdleEviction())
+                .maxLifeTime(pool.getTimeToLive())
+                .evictInBackground(pool.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector shareitServerConnector(ConnectionProvider connectionProvider,
+                                                             ShareitServerProperties properties) {
+        ShareitServerProperties.Timeout timeout = properties.getTimeout();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeout.getConnect().toMillis())
+                .responseTimeout(timeout.getRead())
+                .compress(properties.isCompression());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    @Bean
+    public ReactiveBookingClient reactiveBookingClient(WebClient.Builder builder, ShareitServerProperties properties,
+                                                       ReactorClientHttpConnector connector) {
+        return new ReactiveBookingClient(properties, builder.clientConnector(connector));
+    }
+
+    @Bean
+    public ReactiveItemClient reactiveItemClient(WebClient.Builder builder, ShareitServerProperties properties,
+                                                 ReactorClientHttpConnector connector) {
+        return new ReactiveItemClient(properties, builder.clientConnector(connector));
+    }
+
+    @Bean
+    public ReactiveItemRequestClient reactiveItemRequestClient(WebClient.Builder builder,
+                                                               ShareitServerProperties properties,
+                                                               ReactorClientHttpConnector connector) {
+        return new ReactiveItemRequestClient(properties, builder.clientConnector(connector));
+    }
+
+    @Bean
+    public ReactiveUserClient reactiveUserClient(WebClient.Builder builder, ShareitServerProperties properties,
+                                                 ReactorClientHttpConnector connector) {
+        return new ReactiveUserClient(properties, builder.clientConnector(connector));
+    }
+}
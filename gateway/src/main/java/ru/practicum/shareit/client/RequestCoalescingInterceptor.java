@@ -0,0 +1,160 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Одинаковые одновременные GET-запросы (путь, параметры и X-Sharer-User-Id) отправляются в server один раз:
+ * первый запрос (ведущий) идет в server, остальные ждут его ответа не дольше max-wait и получают копию.
+ * Если ведущий завершился ошибкой, ожидающие получают ту же ошибку. Ответ читается в память, только если
+ * к моменту получения заголовков к ведущему присоединились ожидающие; иначе тело отдается потоком,
+ * как в режиме pass-through, а следующий одинаковый запрос становится новым ведущим.
+ */
+@Slf4j
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor, MeterBinder, Ordered {
+
+    public static final int ORDER = ResponseCacheInterceptor.ORDER + 100;
+
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public RequestCoalescingInterceptor(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+        String key = request.getHeaders().getFirst("X-Sharer-User-Id") + " " + request.getURI();
+        Flight own = new Flight();
+        Flight leading;
+        while ((leading = inFlight.putIfAbsent(key, own)) != null) {
+            if (leading.join()) {
+                return follow(leading.response, key, request, body, execution);
+            }
+        }
+        leaders.increment();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!close(key, own)) {
+                return response;
+            }
+            BufferedClientHttpResponse buffered = BufferedClientHttpResponse.read(response);
+            own.response.complete(buffered);
+            return buffered;
+        } catch (IOException | RuntimeException e) {
+            close(key, own);
+            own.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gateway.coalescing.requests", leaders, LongAdder::doubleValue)
+                .description("GET-запросы, отправленные в server")
+                .tag("role", "leader")
+                .register(registry);
+        FunctionCounter.builder("gateway.coalescing.requests", followers, LongAdder::doubleValue)
+                .description("GET-запросы, дождавшиеся ответа на одинаковый запрос")
+                .tag("role", "follower")
+                .register(registry);
+        FunctionCounter.builder("gateway.coalescing.timeouts", timeouts, LongAdder::doubleValue)
+                .description("Ожидания, превысившие max-wait")
+                .register(registry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescingInterceptor::coalescingRatio)
+                .description("Доля GET-запросов, не дошедших до server")
+                .register(registry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private ClientHttpResponse follow(CompletableFuture<BufferedClientHttpResponse> leading, String key,
+                                      HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        try {
+            BufferedClientHttpResponse response = leading.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            followers.increment();
+            return response;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.debug("Не дождались ответа на одинаковый запрос {}, отправляем свой", key);
+            return execution.execute(request, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Прервано ожидание ответа на " + key);
+        } catch (ExecutionException e) {
+            followers.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Закрывает ведущий запрос для новых ожидающих.
+     *
+     * @return есть ли ожидающие, которым нужна копия ответа
+     */
+    private boolean close(String key, Flight flight) {
+        synchronized (flight) {
+            flight.closed = true;
+            inFlight.remove(key, flight);
+            return flight.waiting > 0;
+        }
+    }
+
+    private double coalescingRatio() {
+        double coalesced = followers.doubleValue();
+        double total = coalesced + leaders.doubleValue();
+        return total == 0 ? 0 : coalesced / total;
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<BufferedClientHttpResponse> response = new CompletableFuture<>();
+        private int waiting;
+        private boolean closed;
+
+        synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            waiting++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+/**
+ * Приводит тело ответа клиентов к JSON для составных ответов gateway. В зависимости от режима
+ * и статуса ответа server тело может быть разобранным объектом, байтами, строкой или потоком
+ * (режим pass-through); поток читается полностью и закрывается, чтобы вернуть соединение в пул.
+ */
+public final class ResponseBodies {
+
+    private ResponseBodies() {
+    }
+
+    public static JsonNode toJson(ObjectMapper mapper, Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof JsonNode) {
+            return (JsonNode) body;
+        }
+        if (body instanceof byte[]) {
+            return parse(mapper, new String((byte[]) body, StandardCharsets.UTF_8));
+        }
+        if (body instanceof String) {
+            return parse(mapper, (String) body);
+        }
+        if (body instanceof Resource) {
+            try (InputStream in = ((Resource) body).getInputStream()) {
+                return parse(mapper, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return mapper.valueToTree(body);
+    }
+
+    /**
+     * Закрывает непрочитанный поток тела ответа, который больше никто не ждет (например, пришедшего после
+     * таймаута), чтобы соединение вернулось в пул.
+     */
+    public static void discard(@Nullable ResponseEntity<?> response) {
+        if (response == null || !(response.getBody() instanceof Resource)) {
+            return;
+        }
+        try {
+            ((Resource) response.getBody()).getInputStream().close();
+        } catch (IOException | IllegalStateException ignore) {
+            // поток уже прочитан или закрыт
+        }
+    }
+
+    private static JsonNode parse(ObjectMapper mapper, String body) {
+        if (body.isEmpty()) {
+            return null;
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(body);
+        }
+    }
+}
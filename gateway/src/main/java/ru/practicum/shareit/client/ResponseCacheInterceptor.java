@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import ru.practicum.shareit.tracing.TraceId;
+
+/**
+ * Кэш успешных ответов server на GET-запросы маршрутов из shareit-server.cache.routes.
+ * Каждый маршрут - отдельный кэш со своими TTL и размером. Изменяющий запрос, совпавший с invalidate-on,
+ * очищает маршрут до и после отправки в server, а поколение маршрута не дает сохранить ответ,
+ * полученный до очистки. Заголовки, описывающие конкретный запрос (Server-Timing, X-Trace-Id,
+ * Idempotent-Replayed), в кэш не сохраняются.
+ */
+@Slf4j
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor, MeterBinder, Ordered {
+
+    public static final int ORDER = 100;
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final List<String> PER_REQUEST_HEADERS =
+            List.of("Server-Timing", TraceId.HEADER, "Idempotent-Replayed");
+
+    private final List<Region> regions = new ArrayList<>();
+
+    public ResponseCacheInterceptor(ShareitServerProperties.Cache properties) {
+        for (Map.Entry<String, ShareitServerProperties.Route> route : properties.getRoutes().entrySet()) {
+            regions.add(new Region(route.getKey(), route.getValue()));
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String path = request.getURI().getPath();
+        if (request.getMethod() != HttpMethod.GET) {
+            List<Region> affected = findInvalidatedRegions(request.getMethod(), path);
+            affected.forEach(Region::invalidate);
+            try {
+                return execution.execute(request, body);
+            } finally {
+                affected.forEach(Region::invalidate);
+            }
+        }
+        Region region = findRegion(path);
+        if (region == null) {
+            return execution.execute(request, body);
+        }
+        String key = region.key(request);
+        BufferedClientHttpResponse cached = region.cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = region.generation.get();
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getRawStatusCode() / 100 != 2) {
+            return response;
+        }
+        BufferedClientHttpResponse buffered = BufferedClientHttpResponse.read(response);
+        region.put(key, buffered.withoutHeaders(PER_REQUEST_HEADERS), generation);
+        return buffered;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Region region : regions) {
+            new CaffeineCacheMetrics(region.cache, region.name, Tags.of("client", "shareit-server")).bindTo(registry);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Region findRegion(String path) {
+        for (Region region : regions) {
+            if (PATH_MATCHER.match(region.pattern, path)) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    private List<Region> findInvalidatedRegions(HttpMethod method, String path) {
+        List<Region> affected = new ArrayList<>();
+        for (Region region : regions) {
+            if (region.isInvalidatedBy(method, path)) {
+                affected.add(region);
+            }
+        }
+        return affected;
+    }
+
+    private static final class Region {
+        private final String name;
+        private final String pattern;
+        private final boolean perUser;
+        private final List<HttpMethod> invalidatingMethods = new ArrayList<>();
+        private final List<String> invalidatingPatterns = new ArrayList<>();
+        private final Cache<String, BufferedClientHttpResponse> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        Region(String name, ShareitServerProperties.Route route) {
+            if (route.getPattern() == null) {
+                throw new IllegalArgumentException("Не задан pattern для кэшируемого маршрута " + name);
+            }
+            this.name = name;
+            this.pattern = route.getPattern();
+            this.perUser = route.isPerUser();
+            for (String rule : route.getInvalidateOn()) {
+                String[] parts = rule.trim().split("\\s+", 2);
+                HttpMethod method = parts.length == 2 ? HttpMethod.resolve(parts[0]) : null;
+                if (method == null) {
+                    throw new IllegalArgumentException("Некорректное правило invalidate-on маршрута " + name
+                            + ": " + rule);
+                }
+                invalidatingMethods.add(method);
+                invalidatingPatterns.add(parts[1]);
+            }
+            this.cache = Caffeine.newBuilder()
+                    .expireAfterWrite(route.getTtl())
+                    .maximumSize(route.getMaxSize())
+                    .recordStats()
+                    .build();
+        }
+
+        String key(HttpRequest request) {
+            String uri = request.getURI().toString();
+            if (!perUser) {
+                return uri;
+            }
+            return request.getHeaders().getFirst("X-Sharer-User-Id") + " " + uri;
+        }
+
+        boolean isInvalidatedBy(HttpMethod method, String path) {
+            for (int i = 0; i < invalidatingMethods.size(); i++) {
+                if (invalidatingMethods.get(i) == method && PATH_MATCHER.match(invalidatingPatterns.get(i), path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void put(String key, BufferedClientHttpResponse response, long requestGeneration) {
+            if (generation.get() != requestGeneration) {
+                return;
+            }
+            cache.put(key, response);
+            // маршрут могли очистить между проверкой и записью
+            if (generation.get() != requestGeneration) {
+                cache.invalidate(key);
+            }
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+            log.debug("Кэш маршрута {} очищен", name);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.client;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Экземпляр server: счетчик запросов без ответа, состояние активной проверки и пассивного исключения из ротации.
+ */
+final class ServerInstance {
+    private final URI baseUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+    private final Timer successes;
+    private final Timer errors;
+    private final Counter ejections;
+
+    ServerInstance(String url, MeterRegistry registry) {
+        this.baseUri = URI.create(url);
+        String instance = baseUri.getAuthority();
+        this.successes = Timer.builder("gateway.upstream.requests")
+                .description("Запросы к экземпляру server")
+                .tags("instance", instance, "outcome", "success")
+                .register(registry);
+        this.errors = Timer.builder("gateway.upstream.requests")
+                .description("Запросы к экземпляру server")
+                .tags("instance", instance, "outcome", "error")
+                .register(registry);
+        this.ejections = Counter.builder("gateway.upstream.ejections")
+                .description("Исключения экземпляра из ротации после ошибок подряд")
+                .tag("instance", instance)
+                .register(registry);
+        Gauge.builder("gateway.upstream.outstanding", outstanding, AtomicInteger::get)
+                .description("Запросы к экземпляру, ожидающие ответа")
+                .tag("instance", instance)
+                .register(registry);
+        Gauge.builder("gateway.upstream.available", this, i -> i.isAvailable() ? 1 : 0)
+                .description("1, если экземпляр в ротации")
+                .tag("instance", instance)
+                .register(registry);
+    }
+
+    URI resolve(URI uri) {
+        return UriComponentsBuilder.fromUri(uri)
+                .scheme(baseUri.getScheme())
+                .host(baseUri.getHost())
+                .port(baseUri.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    URI healthUri(String healthPath) {
+        return baseUri.resolve(healthPath);
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * @return true, если экземпляр только что исключен из ротации
+     */
+    boolean requestCompleted(long elapsedNanos, boolean failed, int maxConsecutiveFailures, long ejectionNanos) {
+        outstanding.decrementAndGet();
+        if (!failed) {
+            successes.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            consecutiveFailures.set(0);
+            return false;
+        }
+        errors.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (consecutiveFailures.incrementAndGet() < maxConsecutiveFailures) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = System.nanoTime() + ejectionNanos;
+        ejected = true;
+        ejections.increment();
+        return true;
+    }
+
+    /**
+     * @return true, если результат проверки изменился
+     */
+    boolean setHealthy(boolean healthy) {
+        boolean changed = this.healthy != healthy;
+        this.healthy = healthy;
+        return changed;
+    }
+
+    /**
+     * Возвращает в ротацию экземпляр, у которого истек срок исключения.
+     */
+    void expireEjection(long nowNanos) {
+        if (ejected && nowNanos - ejectedUntilNanos >= 0) {
+            ejected = false;
+        }
+    }
+
+    boolean isAvailable() {
+        return healthy && !ejected;
+    }
+
+    @Override
+    public String toString() {
+        return baseUri.toString();
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareitServerProperties {
+
+    private String url;
+    /**
+     * Адреса экземпляров server. Если заданы, каждый запрос уходит на один из них, а url остается
+     * базовым адресом клиентов; адреса экземпляров должны отличаться от него только хостом и портом.
+     */
+    private List<String> urls = new ArrayList<>();
+    /**
+     * Ответ server отдается клиенту как есть: статус, заголовки и тело копируются потоком,
+     * без разбора JSON в gateway.
+     */
+    private boolean passThrough = false;
+    /**
+     * Формат обмена с server. В режиме pass-through всегда JSON: тело ответа server отдается клиенту без изменений.
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+    /**
+     * Запрашивать у server ответы в gzip (Accept-Encoding) и распаковывать их до интерсепторов клиента.
+     */
+    private boolean compression = true;
+    private final Pool pool = new Pool();
+    private final Timeout timeout = new Timeout();
+    private final Cache cache = new Cache();
+    private final Coalescing coalescing = new Coalescing();
+    private final Limiter limiter = new Limiter();
+    private final Balancer balancer = new Balancer();
+    private final Hedging hedging = new Hedging();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxTotal = 200;
+        private int maxPerRoute = 100;
+        /**
+         * Соединения, простаивающие дольше, закрываются фоновым потоком.
+         * Должно быть меньше keep-alive таймаута Tomcat на стороне server (20s по умолчанию).
+         */
+        private Duration idleEviction = Duration.ofSeconds(10);
+        private Duration timeToLive = Duration.ofMinutes(5);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Timeout {
+        private Duration connect = Duration.ofSeconds(2);
+        private Duration read = Duration.ofSeconds(10);
+        private Duration poolAcquire = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        /**
+         * Кэшируемые маршруты по имени; имя используется как тег cache в метриках.
+         */
+        private Map<String, Route> routes = new LinkedHashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Coalescing {
+        private boolean enabled = true;
+        /**
+         * Сколько одинаковый GET ждет ответа на уже отправленный запрос, прежде чем пойти в server сам.
+         */
+        private Duration maxWait = Duration.ofSeconds(3);
+    }
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        private boolean enabled = true;
+        private Duration retryAfter = Duration.ofSeconds(1);
+        /**
+         * Границы лимита для GET-маршрутов.
+         */
+        private final LimitBounds read = new LimitBounds(20, 4, 100);
+        /**
+         * Границы лимита для изменяющих маршрутов; отдельные лимиты не дают перегруженному поиску
+         * занять все соединения, нужные для POST /bookings.
+         */
+        private final LimitBounds write = new LimitBounds(10, 2, 50);
+    }
+
+    @Getter
+    @Setter
+    public static class Balancer {
+        private String healthPath = "/actuator/health";
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+        /**
+         * Столько ошибок подряд (нет соединения, таймаут или 502/503) выводят экземпляр из ротации на ejection-time.
+         */
+        private int maxConsecutiveFailures = 5;
+        private Duration ejectionTime = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        /**
+         * GET-маршруты server (шаблоны AntPathMatcher), для которых отправляется повторный запрос.
+         */
+        private List<String> routes = new ArrayList<>(List.of("/items/{itemId:\\d+}", "/bookings/{bookingId:\\d+}"));
+        /**
+         * Повторный запрос отправляется, если ответа нет дольше этого процентиля недавних ответов маршрута.
+         */
+        private double percentile = 0.95;
+        /**
+         * Задержка, пока по маршруту не накопилось достаточно ответов для процентиля.
+         */
+        private Duration initialDelay = Duration.ofMillis(100);
+        private Duration minDelay = Duration.ofMillis(10);
+        /**
+         * Повторные запросы составляют не больше этой доли (в процентах) запросов к маршрутам.
+         */
+        private int budgetPercent = 10;
+        private int maxThreads = 64;
+    }
+
+    @Getter
+    @Setter
+    public static class LimitBounds {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        public LimitBounds(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        /**
+         * Шаблон пути server в синтаксисе AntPathMatcher, например /items/{itemId:\d+}.
+         */
+        private String pattern;
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxSize = 10_000;
+        /**
+         * Ответ зависит от X-Sharer-User-Id, и заголовок входит в ключ кэша.
+         */
+        private boolean perUser = false;
+        /**
+         * Изменяющие запросы вида "PATCH /items/**", после которых маршрут очищается целиком.
+         */
+        private List<String> invalidateOn = new ArrayList<>();
+    }
+}
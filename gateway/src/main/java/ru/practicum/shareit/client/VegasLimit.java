@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Лимит одновременных запросов по алгоритму TCP Vegas. Минимальное наблюдаемое время ответа считается
+ * временем без нагрузки; по отношению текущего времени ответа к нему оценивается очередь в server.
+ * Пока очередь мала, лимит растет, при росте очереди и при отказах server лимит уменьшается.
+ */
+final class VegasLimit {
+    private static final int PROBE_MULTIPLIER = 30;
+    private static final double DROP_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long rttNoLoadNanos;
+    private int samplesToProbe;
+
+    VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.samplesToProbe = nextProbe();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtCompletion, dropped);
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion, boolean dropped) {
+        if (--samplesToProbe <= 0) {
+            // время без нагрузки могло измениться, например после смены плана запроса в базе
+            rttNoLoadNanos = 0;
+            samplesToProbe = nextProbe();
+        }
+        if (dropped) {
+            setEstimatedLimit(estimatedLimit * DROP_FACTOR);
+            return;
+        }
+        if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+        if (inFlightAtCompletion * 2 < estimatedLimit) {
+            // лимит не используется, время ответа ничего не говорит о его запасе
+            return;
+        }
+        int log10 = Math.max(1, (int) Math.log10(estimatedLimit));
+        int alpha = 3 * log10;
+        int beta = 6 * log10;
+        double queueSize = Math.ceil(estimatedLimit * (1 - (double) rttNoLoadNanos / rttNanos));
+        if (queueSize <= log10) {
+            setEstimatedLimit(estimatedLimit + beta);
+        } else if (queueSize < alpha) {
+            setEstimatedLimit(estimatedLimit + log10);
+        } else if (queueSize > beta) {
+            setEstimatedLimit(estimatedLimit - log10);
+        }
+    }
+
+    private void setEstimatedLimit(double newLimit) {
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private int nextProbe() {
+        int base = PROBE_MULTIPLIER * limit;
+        return base + ThreadLocalRandom.current().nextInt(base);
+    }
+}
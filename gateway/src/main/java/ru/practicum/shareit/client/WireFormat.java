@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Формат тел запросов и ответов между gateway и server. Клиентам gateway всегда отвечает в JSON.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    /**
+     * Бинарный JSON Jackson: имена полей и повторяющиеся строки передаются ссылками, числа - в двоичном виде.
+     */
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,316 @@
+package ru.practicum.shareit.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+
+/**
+ * Накапливает начало ответа до min-response-size. Если ответ не поместился и его тип подлежит сжатию,
+ * дальше он сжимается потоком; иначе отдается как есть. Content-Length обработчика задерживается
+ * до этого решения, так как у сжатого ответа он другой.
+ */
+final class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int threshold;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    CompressingResponseWrapper(HttpServletResponse response, int threshold, int level, List<MediaType> mimeTypes) {
+        super(response);
+        this.threshold = threshold;
+        this.level = level;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (outputStream != null && outputStream.decided) {
+            if (!outputStream.compressing) {
+                super.setContentLengthLong(len);
+            }
+        } else {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream == null || outputStream.decided) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (outputStream != null && !outputStream.decided) {
+            outputStream.count = 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        contentLength = -1;
+        if (outputStream != null && !outputStream.decided) {
+            outputStream.count = 0;
+        }
+    }
+
+    /**
+     * Дописывает ответ: отдает накопленное начало или завершает поток gzip.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.finish();
+        } else if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    boolean isCompressed() {
+        return outputStream != null && outputStream.compressing;
+    }
+
+    long getOriginalBytes() {
+        return outputStream.originalBytes;
+    }
+
+    long getCompressedBytes() {
+        return outputStream.compressedBytes;
+    }
+
+    long getCpuNanos() {
+        return outputStream.cpuNanos;
+    }
+
+    private CompressingOutputStream stream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private boolean shouldCompress() {
+        int status = getStatus();
+        if (status < 200 || status == HttpServletResponse.SC_NO_CONTENT
+                || status == HttpServletResponse.SC_PARTIAL_CONTENT
+                || status == HttpServletResponse.SC_NOT_MODIFIED
+                || containsHeader(HttpHeaders.CONTENT_ENCODING)
+                || getContentType() == null) {
+            return false;
+        }
+        try {
+            MediaType contentType = MediaType.parseMediaType(getContentType());
+            for (MediaType mimeType : mimeTypes) {
+                if (mimeType.includes(contentType)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream target;
+        private final byte[] buffer = new byte[threshold];
+        private int count;
+        private boolean decided;
+        private boolean compressing;
+        private boolean finished;
+        private GZIPOutputStream gzip;
+        private long originalBytes;
+        private long compressedBytes;
+        private long cpuNanos;
+
+        CompressingOutputStream(ServletOutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!decided) {
+                if (count + len <= buffer.length) {
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                    return;
+                }
+                decide(shouldCompress());
+            }
+            if (compressing) {
+                compress(b, off, len);
+            } else {
+                target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (decided) {
+                if (compressing) {
+                    gzip.flush();
+                }
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (!decided) {
+                decide(false);
+            }
+            if (compressing) {
+                long start = THREADS.getCurrentThreadCpuTime();
+                gzip.finish();
+                cpuNanos += THREADS.getCurrentThreadCpuTime() - start;
+            }
+        }
+
+        private void decide(boolean compress) throws IOException {
+            decided = true;
+            compressing = compress;
+            if (compress) {
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                gzip = new GZIPOutputStream(new CountingOutputStream(target), threshold) {
+                    {
+                        def.setLevel(level);
+                    }
+                };
+                compress(buffer, 0, count);
+            } else {
+                if (contentLength >= 0) {
+                    getResponse().setContentLengthLong(contentLength);
+                } else if (finished) {
+                    getResponse().setContentLengthLong(count);
+                }
+                target.write(buffer, 0, count);
+            }
+        }
+
+        private void compress(byte[] b, int off, int len) throws IOException {
+            long start = THREADS.getCurrentThreadCpuTime();
+            gzip.write(b, off, len);
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - start;
+            originalBytes += len;
+        }
+
+        private final class CountingOutputStream extends OutputStream {
+            private final OutputStream out;
+
+            CountingOutputStream(OutputStream out) {
+                this.out = out;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                compressedBytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                compressedBytes += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.compression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Сжимает ответы gateway в gzip, если клиент передал Accept-Encoding: gzip. Brotli и zstd не поддерживаются:
+ * для них нужны нативные библиотеки, а gzip есть в JDK и понимается всеми клиентами.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final int threshold;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final CompressionMetrics metrics;
+
+    public CompressionFilter(CompressionProperties properties, MeterRegistry registry) {
+        this.threshold = (int) properties.getMinResponseSize().toBytes();
+        this.level = properties.getLevel();
+        this.mimeTypes = properties.getMimeTypes().stream()
+                .map(MediaType::parseMediaType)
+                .collect(Collectors.toList());
+        this.metrics = new CompressionMetrics(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if ("HEAD".equals(request.getMethod()) || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponseWrapper compressing = new CompressingResponseWrapper(response, threshold, level, mimeTypes);
+        chain.doFilter(request, compressing);
+        compressing.finish();
+        if (compressing.isCompressed()) {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            metrics.record(route != null ? (String) route : "UNKNOWN", compressing.getOriginalBytes(),
+                    compressing.getCompressedBytes(), compressing.getCpuNanos());
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
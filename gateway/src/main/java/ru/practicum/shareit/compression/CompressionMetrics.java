@@ -0,0 +1,63 @@
+package ru.practicum.shareit.compression;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Метрики сжатия по шаблонам маршрутов: степень сжатия (исходный размер / сжатый), процессорное время
+ * и объем данных до и после сжатия - по нему считается общая степень сжатия маршрута.
+ */
+class CompressionMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    CompressionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    void record(String route, long originalBytes, long compressedBytes, long cpuNanos) {
+        RouteMeters meters = routes.get(route);
+        if (meters == null) {
+            meters = routes.computeIfAbsent(route, r -> new RouteMeters(r, registry));
+        }
+        meters.ratio.record(compressedBytes > 0 ? (double) originalBytes / compressedBytes : 1);
+        meters.cpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+        meters.original.increment(originalBytes);
+        meters.compressed.increment(compressedBytes);
+    }
+
+    private static final class RouteMeters {
+        private final DistributionSummary ratio;
+        private final Timer cpu;
+        private final Counter original;
+        private final Counter compressed;
+
+        RouteMeters(String route, MeterRegistry registry) {
+            ratio = DistributionSummary.builder("gateway.compression.ratio")
+                    .description("Отношение исходного размера ответа к сжатому")
+                    .tag("route", route)
+                    .register(registry);
+            cpu = Timer.builder("gateway.compression.cpu")
+                    .description("Процессорное время сжатия ответа")
+                    .tag("route", route)
+                    .register(registry);
+            original = Counter.builder("gateway.compression.bytes")
+                    .description("Объем сжатых ответов")
+                    .baseUnit("bytes")
+                    .tags("route", route, "stage", "original")
+                    .register(registry);
+            compressed = Counter.builder("gateway.compression.bytes")
+                    .description("Объем сжатых ответов")
+                    .baseUnit("bytes")
+                    .tags("route", route, "stage", "compressed")
+                    .register(registry);
+        }
+    }
+}
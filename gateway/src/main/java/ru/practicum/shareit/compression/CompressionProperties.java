@@ -0,0 +1,26 @@
+package ru.practicum.shareit.compression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+    /**
+     * Ответы меньшего размера отдаются без сжатия: выигрыш меньше затрат на заголовок gzip и CPU.
+     */
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+    /**
+     * Уровень gzip от 1 (быстрее) до 9 (сильнее).
+     */
+    private int level = 6;
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "text/plain"));
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.dashboard;
+
+import javax.validation.constraints.Min;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/dashboard")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DashboardControllerGateway {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public DashboardDto getDashboard(@RequestHeader("X-Sharer-User-Id") int userId,
+                                     @RequestParam(defaultValue = "0") @Min(0) int from,
+                                     @RequestParam(defaultValue = "15") @Min(1) int size) {
+        return dashboardService.getDashboard(userId, from, size);
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+    private DashboardSectionDto user;
+    private DashboardSectionDto items;
+    private DashboardSectionDto waitingBookings;
+    private DashboardSectionDto requests;
+}
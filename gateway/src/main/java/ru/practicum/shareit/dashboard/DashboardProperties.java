@@ -0,0 +1,18 @@
+package ru.practicum.shareit.dashboard;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.dashboard")
+public class DashboardProperties {
+
+    /**
+     * Общее время ожидания разделов; не успевшие разделы возвращаются со статусом 504.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSectionDto {
+    private int status;
+    private JsonNode body;
+}
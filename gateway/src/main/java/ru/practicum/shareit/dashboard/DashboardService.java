@@ -0,0 +1,115 @@
+package ru.practicum.shareit.dashboard;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.client.ResponseBodies;
+import ru.practicum.shareit.error_handler.ShareitException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+/**
+ * Собирает страницу владельца из четырех запросов к server, выполняемых одновременно в общем пуле задач:
+ * время ответа определяется самым медленным запросом. Ошибка или таймаут раздела возвращается
+ * в этом разделе и не мешает остальным.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(DashboardProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DashboardService {
+
+    private final UserClient userClient;
+    private final ItemClient itemClient;
+    private final BookingClient bookingClient;
+    private final ItemRequestClient requestClient;
+    private final ThreadPoolTaskExecutor executor;
+    private final ObjectMapper mapper;
+    private final DashboardProperties properties;
+
+    public DashboardService(UserClient userClient, ItemClient itemClient, BookingClient bookingClient,
+                            ItemRequestClient requestClient, ThreadPoolTaskExecutor executor, ObjectMapper mapper,
+                            DashboardProperties properties) {
+        this.userClient = userClient;
+        this.itemClient = itemClient;
+        this.bookingClient = bookingClient;
+        this.requestClient = requestClient;
+        this.executor = executor;
+        this.mapper = mapper;
+        this.properties = properties;
+    }
+
+    public DashboardDto getDashboard(int userId, int from, int size) {
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        CompletableFuture<ResponseEntity<Object>> user = submit(() -> userClient.getUserById(userId));
+        CompletableFuture<ResponseEntity<Object>> items = submit(() -> itemClient.getOwnerItems(userId, from, size));
+        CompletableFuture<ResponseEntity<Object>> bookings = submit(() ->
+                bookingClient.getOwnerItemsBookings(userId, BookingState.WAITING, from, size));
+        CompletableFuture<ResponseEntity<Object>> requests = submit(() -> requestClient.getUserRequests(userId));
+        return new DashboardDto(
+                await("user", user, deadline),
+                await("items", items, deadline),
+                await("waitingBookings", bookings, deadline),
+                await("requests", requests, deadline));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> submit(Supplier<ResponseEntity<Object>> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private DashboardSectionDto await(String section, CompletableFuture<ResponseEntity<Object>> future,
+                                      long deadline) {
+        try {
+            ResponseEntity<Object> response = future.get(Math.max(0, deadline - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+            return new DashboardSectionDto(response.getStatusCodeValue(),
+                    ResponseBodies.toJson(mapper, response.getBody()));
+        } catch (TimeoutException e) {
+            future.whenComplete((response, ex) -> ResponseBodies.discard(response));
+            log.warn("Раздел {} не получен за {}", section, properties.getTimeout());
+            return error(HttpStatus.GATEWAY_TIMEOUT, "Раздел не получен за " + properties.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.whenComplete((response, ex) -> ResponseBodies.discard(response));
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Получение раздела прервано");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TaskRejectedException) {
+                log.warn("Раздел {} не запрошен: пул задач переполнен", section);
+                return error(HttpStatus.SERVICE_UNAVAILABLE, "Пул задач gateway переполнен");
+            }
+            if (cause instanceof ShareitException) {
+                log.warn(cause.getMessage());
+                return error(((ShareitException) cause).getStatus(), cause.getMessage());
+            }
+            log.error("Ошибка получения раздела {}", section, cause);
+            return error(HttpStatus.BAD_GATEWAY, cause.getMessage());
+        }
+    }
+
+    private DashboardSectionDto error(HttpStatus status, String message) {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("error", message);
+        return new DashboardSectionDto(status.value(), body);
+    }
+}
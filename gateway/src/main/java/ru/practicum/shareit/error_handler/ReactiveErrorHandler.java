@@ -0,0 +1,92 @@
+package ru.practicum.shareit.error_handler;
+
+import javax.validation.ConstraintViolationException;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Обработчик ошибок неблокирующего gateway: исключения WebFlux приводятся к тем же статусам и сообщениям,
+ * что возвращает {@link ErrorHandler}.
+ */
+@RestControllerAdvice
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveErrorHandler {
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(WebExchangeBindException e) {
+        StringBuilder str = new StringBuilder();
+        for (ObjectError error : e.getAllErrors()) {
+            str.append(error.getDefaultMessage());
+        }
+        String errorMessage = str.toString();
+        log.error(errorMessage);
+        return new ErrorResponse(errorMessage);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException e) {
+        log.error(e.getMessage());
+        Throwable cause = e.getCause();
+        MethodParameter parameter = e.getMethodParameter();
+        if (cause instanceof TypeMismatchException) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Unknown state: " + ((TypeMismatchException) cause).getValue()));
+        }
+        if (cause == null && parameter != null) {
+            RequestHeader header = parameter.getParameterAnnotation(RequestHeader.class);
+            if (header != null) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body(new ErrorResponse(missingValueMessage("request header", header.value(), parameter)));
+            }
+            RequestParam param = parameter.getParameterAnnotation(RequestParam.class);
+            if (param != null) {
+                return ResponseEntity.badRequest()
+                        .body(new ErrorResponse(missingValueMessage("request parameter", param.value(), parameter)));
+            }
+        }
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getReason()));
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleConstraintViolationException(ConstraintViolationException e) {
+        log.error(e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleIllegalArgumentException(IllegalArgumentException e) {
+        log.error(e.getMessage());
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse handleOther(Throwable e) {
+        log.error(e.getMessage(), e);
+        return new ErrorResponse(e.getMessage());
+    }
+
+    private static String missingValueMessage(String kind, String name, MethodParameter parameter) {
+        String valueName = StringUtils.hasText(name) ? name : parameter.getParameterName();
+        return "Required " + kind + " '" + valueName + "' for method parameter type "
+                + parameter.getNestedParameterType().getSimpleName() + " is not present";
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.error_handler;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Запрос отклонен gateway до отправки в server; клиенту возвращается заголовок Retry-After.
+ */
+public class ShareitRetryLaterException extends ShareitException {
+
+    private final Duration retryAfter;
+
+    public ShareitRetryLaterException(HttpStatus status, String message, Duration retryAfter) {
+        super(status, message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public String getRetryAfterSeconds() {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+}
@@ -4,20 +4,20 @@ import java.util.Map;
 
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareitServerProperties;
 
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(ShareitServerProperties properties, RestTemplateBuilder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.getUrl() + API_PREFIX))
+                        .build(),
+                properties
         );
     }
 
@@ -41,6 +41,10 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> countOwnerItems(int userId) {
+        return get("/count", userId);
+    }
+
     public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
@@ -50,6 +54,19 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
+    public ResponseEntity<Object> searchItemsAfter(String text, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "after", after,
+                "size", size
+        );
+        return get("/search?text={text}&after={after}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> countItems(String text) {
+        return get("/search/count?text={text}", null, Map.of("text", text));
+    }
+
     public ResponseEntity<Object> postComment(int userId, int itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
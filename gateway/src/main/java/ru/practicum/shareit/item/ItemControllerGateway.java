@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/items")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemControllerGateway {
 
     private final ItemClient itemClient;
@@ -49,13 +51,27 @@ public class ItemControllerGateway {
         return itemClient.getOwnerItems(userId, from, size);
     }
 
+    @GetMapping("/count")
+    public ResponseEntity<Object> countOwnerItems(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return itemClient.countOwnerItems(userId);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchItems(@RequestParam(defaultValue = "") String text,
                                               @RequestParam(defaultValue = "0") @Min(0) int from,
+                                              @RequestParam(required = false) String after,
                                               @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return itemClient.searchItemsAfter(text, after, size);
+        }
         return itemClient.searchItems(text, from, size);
     }
 
+    @GetMapping("/search/count")
+    public ResponseEntity<Object> countItems(@RequestParam(defaultValue = "") String text) {
+        return itemClient.countItems(text);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> postComment(@RequestHeader("X-Sharer-User-Id") int userId, @PathVariable int itemId,
                                               @Valid @RequestBody CommentDto commentDto) {
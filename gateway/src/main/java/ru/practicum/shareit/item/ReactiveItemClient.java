@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item;
+
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(ShareitServerProperties properties, WebClient.Builder builder) {
+        super(builder.baseUrl(properties.getUrl() + API_PREFIX).build(), properties.getTimeout().getRead());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postItem(int userId, ItemDto itemDto,
+                                                           @Nullable String idempotencyKey) {
+        return post("", userId, itemDto, idempotencyKey);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(int userId, int itemId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(int userId, int itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerItems(int userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countOwnerItems(int userId) {
+        return get("/count", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItemsAfter(String text, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "after", after,
+                "size", size
+        );
+        return get("/search?text={text}&after={after}&size={size}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countItems(String text) {
+        return get("/search/count?text={text}", null, Map.of("text", text));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postComment(int userId, int itemId, CommentDto commentDto,
+                                                              @Nullable String idempotencyKey) {
+        return post("/" + itemId + "/comment", userId, commentDto, idempotencyKey);
+    }
+}
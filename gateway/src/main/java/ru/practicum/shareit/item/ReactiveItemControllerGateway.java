@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.BaseClient;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/items")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemControllerGateway {
+
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postItem(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ItemDto itemDto) {
+        return itemClient.postItem(userId, itemDto, idempotencyKey);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                             @PathVariable int itemId,
+                                                             @RequestBody ItemDto itemDto) {
+        return itemClient.updateItem(userId, itemId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                              @PathVariable int itemId) {
+        return itemClient.getItemById(userId, itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerItems(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                                @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                                @RequestParam(defaultValue = "15") @Min(1) int size) {
+        return itemClient.getOwnerItems(userId, from, size);
+    }
+
+    @GetMapping("/count")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countOwnerItems(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return itemClient.countOwnerItems(userId);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(@RequestParam(defaultValue = "") String text,
+                                                              @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                              @RequestParam(required = false) String after,
+                                                              @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return itemClient.searchItemsAfter(text, after, size);
+        }
+        return itemClient.searchItems(text, from, size);
+    }
+
+    @GetMapping("/search/count")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> countItems(@RequestParam(defaultValue = "") String text) {
+        return itemClient.countItems(text);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postComment(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable int itemId,
+            @Valid @RequestBody CommentDto commentDto) {
+        return itemClient.postComment(userId, itemId, commentDto, idempotencyKey);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.metrics;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Засекает время от вызова обработчика до записи ответа, включая проверку параметров,
+ * ErrorHandler и сериализацию тела.
+ */
+public class LatencyInterceptor implements HandlerInterceptor {
+
+    private final LatencyMetrics metrics;
+    private final boolean serverTimingEnabled;
+
+    public LatencyInterceptor(LatencyMetrics metrics, boolean serverTimingEnabled) {
+        this.metrics = metrics;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        if (pattern != null && method != null) {
+            RequestTiming.start(metrics.route((String) pattern), method, serverTimingEnabled);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTiming.finish(response.getStatus());
+    }
+}
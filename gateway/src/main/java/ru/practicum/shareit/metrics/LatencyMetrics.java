@@ -0,0 +1,29 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Таймеры gateway по шаблонам маршрутов: gateway.requests (весь обработчик),
+ * gateway.requests.upstream (запросы к server) и gateway.requests.overhead (обработчик без ожидания server).
+ * Процентили задаются через management.metrics.distribution.percentiles.gateway.requests.
+ */
+public class LatencyMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteTimers> routes = new ConcurrentHashMap<>();
+
+    public LatencyMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    RouteTimers route(String route) {
+        RouteTimers timers = routes.get(route);
+        if (timers == null) {
+            timers = routes.computeIfAbsent(route, r -> new RouteTimers(r, registry));
+        }
+        return timers;
+    }
+}
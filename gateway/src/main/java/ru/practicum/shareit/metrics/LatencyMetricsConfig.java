@@ -0,0 +1,40 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.tracing.TraceId;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LatencyMetricsConfig implements WebMvcConfigurer {
+
+    private final LatencyInterceptor latencyInterceptor;
+
+    public LatencyMetricsConfig(MeterRegistry meterRegistry,
+                                @Value("${shareit-gateway.server-timing.enabled:false}") boolean serverTimingEnabled) {
+        this.latencyInterceptor = new LatencyInterceptor(new LatencyMetrics(meterRegistry), serverTimingEnabled);
+    }
+
+    /**
+     * Подхватывается пулом задач Spring Boot (spring.task.execution.*), если это единственный TaskDecorator,
+     * поэтому переносит в задачи и учет времени, и MDC.
+     */
+    @Bean
+    public TaskDecorator requestTimingTaskDecorator() {
+        TaskDecorator timing = RequestTiming.decorator();
+        TaskDecorator trace = TraceId.decorator();
+        return runnable -> timing.decorate(trace.decorate(runnable));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(latencyInterceptor).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,221 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+/**
+ * Время ожидания server в рамках одного запроса к gateway. Учитывается объединение интервалов,
+ * когда ожидается хотя бы один ответ server, поэтому параллельные запросы (/batch, /dashboard)
+ * не суммируются. Запросы из пула задач относятся к запросу, который их запустил (см. {@link #decorator()}).
+ * Поток обработки запросов переиспользует свой экземпляр, пока на прошлый запрос не ссылаются задачи пула.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> OWN = new ThreadLocal<>();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private RouteTimers timers;
+    private HttpMethod method;
+    private boolean serverTimingEnabled;
+    private long startNanos;
+    private int inFlight;
+    private int tasks;
+    private long busySinceNanos;
+    private long upstreamNanos;
+    private long firstUpstreamNanos;
+    /**
+     * Фазы из заголовков Server-Timing ответов server, мс; при нескольких запросах к server суммируются.
+     * Создается только при включенном Server-Timing.
+     */
+    @Nullable
+    private Map<String, Double> serverPhases;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * @param serverTimingEnabled учитывать фазы server для заголовка Server-Timing
+     */
+    static void start(RouteTimers timers, HttpMethod method, boolean serverTimingEnabled) {
+        RequestTiming timing = OWN.get();
+        if (timing == null || !timing.reusable()) {
+            timing = new RequestTiming();
+            OWN.set(timing);
+        }
+        timing.reset(timers, method, serverTimingEnabled, System.nanoTime());
+        CURRENT.set(timing);
+    }
+
+    static void finish(int status) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        CURRENT.remove();
+        long now = System.nanoTime();
+        timing.timers.recordRequest(timing.method, status, now - timing.startNanos, timing.upstreamNanos(now));
+    }
+
+    /**
+     * @return момент начала запроса к server для {@link #upstreamCompleted}
+     */
+    public static long upstreamStarted() {
+        long now = System.nanoTime();
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.started(now);
+        }
+        return now;
+    }
+
+    /**
+     * @param status статус ответа server или 0, если ответ не получен
+     */
+    public static void upstreamCompleted(long startNanos, HttpMethod method, int status) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        timing.completed(now);
+        timing.timers.recordUpstream(method, status, now - startNanos);
+    }
+
+    /**
+     * Учитывает заголовок Server-Timing ответа server; фаза total server передается как server.
+     */
+    public static void serverTiming(@Nullable String header) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null || header == null || !timing.serverTimingEnabled) {
+            return;
+        }
+        for (String metric : header.split(",")) {
+            String[] parts = metric.trim().split(";");
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("dur=")) {
+                    try {
+                        String name = parts[0].equals("total") ? "server" : parts[0];
+                        timing.addServerPhase(name, Double.parseDouble(param.substring(4)));
+                    } catch (NumberFormatException e) {
+                        // фаза без длительности пропускается
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Заголовок Server-Timing текущего запроса: validation - от вызова обработчика до первого запроса к server
+     * (разбор и проверка параметров), upstream - ожидание server, далее фазы server и total.
+     *
+     * @return null вне обработчика запроса
+     */
+    @Nullable
+    public static String serverTimingHeader() {
+        RequestTiming timing = CURRENT.get();
+        return timing != null ? timing.header(System.nanoTime()) : null;
+    }
+
+    /**
+     * Переносит учет времени в задачи пула, запущенные из обработчика запроса.
+     */
+    public static TaskDecorator decorator() {
+        return runnable -> {
+            RequestTiming timing = CURRENT.get();
+            if (timing == null) {
+                return runnable;
+            }
+            timing.taskSubmitted();
+            return () -> {
+                CURRENT.set(timing);
+                try {
+                    runnable.run();
+                } finally {
+                    CURRENT.remove();
+                    timing.taskCompleted();
+                }
+            };
+        };
+    }
+
+    private synchronized void reset(RouteTimers timers, HttpMethod method, boolean serverTimingEnabled,
+                                    long startNanos) {
+        this.timers = timers;
+        this.method = method;
+        this.serverTimingEnabled = serverTimingEnabled;
+        this.startNanos = startNanos;
+        inFlight = 0;
+        busySinceNanos = 0;
+        upstreamNanos = 0;
+        firstUpstreamNanos = -1;
+        if (serverPhases != null) {
+            serverPhases.clear();
+        }
+    }
+
+    /**
+     * Задача пула, брошенная по таймауту, может завершиться после ответа и изменить счетчики следующего запроса.
+     */
+    private synchronized boolean reusable() {
+        return tasks == 0 && inFlight == 0;
+    }
+
+    private synchronized void taskSubmitted() {
+        tasks++;
+    }
+
+    private synchronized void taskCompleted() {
+        tasks--;
+    }
+
+    private synchronized void started(long now) {
+        if (firstUpstreamNanos < 0) {
+            firstUpstreamNanos = now;
+        }
+        if (inFlight++ == 0) {
+            busySinceNanos = now;
+        }
+    }
+
+    private synchronized void completed(long now) {
+        if (--inFlight == 0) {
+            upstreamNanos += now - busySinceNanos;
+        }
+    }
+
+    private synchronized long upstreamNanos(long now) {
+        return inFlight > 0 ? upstreamNanos + now - busySinceNanos : upstreamNanos;
+    }
+
+    private synchronized void addServerPhase(String name, double millis) {
+        if (serverPhases == null) {
+            serverPhases = new LinkedHashMap<>();
+        }
+        serverPhases.merge(name, millis, Double::sum);
+    }
+
+    private synchronized String header(long now) {
+        StringBuilder header = new StringBuilder();
+        long validationEnd = firstUpstreamNanos >= 0 ? firstUpstreamNanos : now;
+        appendMetric(header, "validation", (validationEnd - startNanos) / 1e6);
+        appendMetric(header, "upstream", upstreamNanos(now) / 1e6);
+        if (serverPhases != null) {
+            serverPhases.forEach((name, millis) -> appendMetric(header, name, millis));
+        }
+        appendMetric(header, "total", (now - startNanos) / 1e6);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, double millis) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", millis));
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Таймеры одного маршрута gateway. Таймер для метода и статуса регистрируется при первом обращении
+ * и хранится в массиве, поэтому повторная запись не создает объектов.
+ */
+final class RouteTimers {
+
+    static final String REQUESTS = "gateway.requests";
+    static final String OVERHEAD = "gateway.requests.overhead";
+    static final String UPSTREAM = "gateway.requests.upstream";
+
+    /**
+     * Статус 0 - запрос к server завершился исключением, ответ не получен.
+     */
+    private static final int STATUSES = 600;
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+
+    private final String route;
+    private final MeterRegistry registry;
+    private final AtomicReferenceArray<Timer> requests = new AtomicReferenceArray<>(METHODS.length * STATUSES);
+    private final AtomicReferenceArray<Timer> overhead = new AtomicReferenceArray<>(METHODS.length * STATUSES);
+    private final AtomicReferenceArray<Timer> upstream = new AtomicReferenceArray<>(METHODS.length * STATUSES);
+
+    RouteTimers(String route, MeterRegistry registry) {
+        this.route = route;
+        this.registry = registry;
+    }
+
+    void recordRequest(HttpMethod method, int status, long totalNanos, long upstreamNanos) {
+        timer(requests, REQUESTS, "Время обработки запроса в gateway, включая ожидание server", method, status)
+                .record(totalNanos, TimeUnit.NANOSECONDS);
+        timer(overhead, OVERHEAD, "Время обработки запроса в gateway без ожидания server", method, status)
+                .record(Math.max(0, totalNanos - upstreamNanos), TimeUnit.NANOSECONDS);
+    }
+
+    void recordUpstream(HttpMethod method, int status, long nanos) {
+        timer(upstream, UPSTREAM, "Время запроса к server из обработчика gateway", method, status)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(AtomicReferenceArray<Timer> timers, String name, String description, HttpMethod method,
+                        int status) {
+        if (status < 0 || status >= STATUSES) {
+            status = 0;
+        }
+        int index = method.ordinal() * STATUSES + status;
+        Timer timer = timers.get(index);
+        if (timer == null) {
+            timer = Timer.builder(name)
+                    .description(description)
+                    .tags("route", route, "method", method.name(),
+                            "status", status == 0 ? "CLIENT_ERROR" : String.valueOf(status))
+                    .register(registry);
+            timers.set(index, timer);
+        }
+        return timer;
+    }
+}
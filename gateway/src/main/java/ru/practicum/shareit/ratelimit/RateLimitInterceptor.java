@@ -0,0 +1,136 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.UrlPathHelper;
+import ru.practicum.shareit.error_handler.ShareitRetryLaterException;
+
+/**
+ * Ограничивает частоту запросов к маршрутам из shareit-gateway.rate-limit.routes отдельно для каждого
+ * X-Sharer-User-Id, а запросы без заголовка (например, поиск вещей) - для каждого IP клиента.
+ * Превысившие лимит запросы получают 429; в каждый ответ добавляются заголовки X-RateLimit-*.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final List<Route> routes = new ArrayList<>();
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry) {
+        for (Map.Entry<String, RateLimitProperties.Route> route : properties.getRoutes().entrySet()) {
+            routes.add(new Route(route.getKey(), route.getValue(), registry));
+        }
+        buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, buckets, "gateway.rate-limit.buckets");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Route route = findRoute(request.getMethod(), URL_PATH_HELPER.getLookupPathForRequest(request));
+        if (route == null) {
+            return true;
+        }
+        String userId = request.getHeader("X-Sharer-User-Id");
+        String key = userId != null
+                ? route.name + ":user:" + userId
+                : route.name + ":ip:" + request.getRemoteAddr();
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(now));
+        long remaining = bucket.tryConsume(now, route.tokenNanos, route.capacityNanos);
+
+        response.setHeader("X-RateLimit-Limit", route.capacityHeader);
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, remaining)));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+        if (remaining >= 0) {
+            return true;
+        }
+        throw reject(route, remaining);
+    }
+
+    /**
+     * Списывает токен за подзапрос POST /batch: подзапросы передаются в контроллеры в обход интерцепторов,
+     * но расходуют тот же лимит пользователя, что и одиночные запросы.
+     *
+     * @throws ShareitRetryLaterException если лимит маршрута исчерпан
+     */
+    public void consume(String method, String path, int userId) {
+        Route route = findRoute(method, path);
+        if (route == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(route.name + ":user:" + userId, k -> new TokenBucket(now));
+        long remaining = bucket.tryConsume(now, route.tokenNanos, route.capacityNanos);
+        if (remaining < 0) {
+            throw reject(route, remaining);
+        }
+    }
+
+    private static ShareitRetryLaterException reject(Route route, long remaining) {
+        route.throttled.increment();
+        return new ShareitRetryLaterException(HttpStatus.TOO_MANY_REQUESTS,
+                "Превышен лимит запросов " + route.name, Duration.ofNanos(-remaining));
+    }
+
+    private Route findRoute(String method, String path) {
+        for (Route route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(method))
+                    && PATH_MATCHER.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+
+    private static final class Route {
+        private final String name;
+        private final String pattern;
+        private final String method;
+        private final long tokenNanos;
+        private final long capacityNanos;
+        private final String capacityHeader;
+        private final Counter throttled;
+
+        Route(String name, RateLimitProperties.Route route, MeterRegistry registry) {
+            if (route.getPattern() == null || route.getCapacity() < 1 || route.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("Некорректные настройки лимита запросов маршрута " + name);
+            }
+            this.name = name;
+            this.pattern = route.getPattern();
+            this.method = route.getMethod();
+            this.tokenNanos = (long) (NANOS_PER_SECOND / route.getRefillPerSecond());
+            this.capacityNanos = tokenNanos * route.getCapacity();
+            this.capacityHeader = String.valueOf(route.getCapacity());
+            this.throttled = Counter.builder("gateway.rate-limit.throttled")
+                    .description("Запросы, отклоненные с 429")
+                    .tag("route", name)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /**
+     * Сколько корзин (пар маршрут - пользователь или IP) хранится одновременно.
+     */
+    private long maxBuckets = 100_000;
+    /**
+     * Корзина, к которой не обращались дольше, удаляется. Простаивающая корзина за время
+     * capacity / refill-per-second успевает наполниться, поэтому ее удаление ничего не меняет,
+     * если idle-timeout не меньше этого времени.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    /**
+     * Ограничиваемые маршруты по имени; имя используется как тег route в метриках.
+     */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        /**
+         * Шаблон пути gateway в синтаксисе AntPathMatcher.
+         */
+        private String pattern;
+        /**
+         * HTTP-метод; если не задан, ограничиваются все методы.
+         */
+        private String method;
+        private int capacity = 20;
+        private double refillPerSecond = 5;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Корзина токенов без блокировок (алгоритм GCRA). Состояние - одно число: момент, когда корзина
+ * снова станет полной. Каждый запрос сдвигает его на время пополнения одного токена; запрос
+ * отклоняется, если корзину пришлось бы наполнять дольше, чем вмещается токенов.
+ */
+final class TokenBucket {
+    private final AtomicLong fullAtNanos;
+
+    TokenBucket(long nowNanos) {
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return число оставшихся токенов, если токен взят, или минус время до появления токена в наносекундах
+     */
+    long tryConsume(long nowNanos, long tokenNanos, long capacityNanos) {
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long debtNanos = Math.max(fullAt, nowNanos) + tokenNanos - nowNanos;
+            if (debtNanos > capacityNanos) {
+                return -(debtNanos - capacityNanos);
+            }
+            if (fullAtNanos.compareAndSet(fullAt, nowNanos + debtNanos)) {
+                return (capacityNanos - debtNanos) / tokenNanos;
+            }
+        }
+    }
+
+    long nanosUntilFull(long nowNanos) {
+        return Math.max(0, fullAtNanos.get() - nowNanos);
+    }
+}
@@ -4,6 +4,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +21,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestControllerGateway {
     private final ItemRequestClient itemRequestClient;
 
@@ -43,7 +45,11 @@ public class ItemRequestControllerGateway {
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") int userId,
                                                  @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                 @RequestParam(required = false) String after,
                                                  @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return itemRequestClient.getAllRequestsAfter(userId, after, size);
+        }
         return itemRequestClient.getAllRequests(userId, from, size);
     }
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.request;
+
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveItemRequestClient(ShareitServerProperties properties, WebClient.Builder builder) {
+        super(builder.baseUrl(properties.getUrl() + API_PREFIX).build(), properties.getTimeout().getRead());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postRequest(int userId, ItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(int requestId, int userId) {
+        return get("/" + requestId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserRequests(int userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(int userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequestsAfter(int userId, String after, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "after", after,
+                "size", size
+        );
+        return get("/all?after={after}&size={size}", userId, parameters);
+    }
+}
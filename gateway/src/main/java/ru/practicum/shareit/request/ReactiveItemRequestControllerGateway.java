@@ -0,0 +1,58 @@
+package ru.practicum.shareit.request;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/requests")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemRequestControllerGateway {
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postRequest(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                              @Valid @RequestBody ItemRequestDto requestDto) {
+        return itemRequestClient.postRequest(userId, requestDto);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@PathVariable int requestId,
+                                                                 @RequestHeader("X-Sharer-User-Id") int userId) {
+        return itemRequestClient.getRequestById(requestId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserRequests(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return itemRequestClient.getUserRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(
+            @RequestHeader("X-Sharer-User-Id") int userId,
+            @RequestParam(defaultValue = "0") @Min(0) int from,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "15") @Min(1) int size) {
+        if (after != null) {
+            return itemRequestClient.getAllRequestsAfter(userId, after, size);
+        }
+        return itemRequestClient.getAllRequests(userId, from, size);
+    }
+}
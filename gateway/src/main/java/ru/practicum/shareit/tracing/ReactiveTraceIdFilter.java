@@ -0,0 +1,31 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Аналог {@link TraceIdFilter} для неблокирующего движка. Обработка запроса переходит между потоками,
+ * поэтому идентификатор хранится не в MDC, а в контексте Reactor под ключом {@value TraceId#MDC_KEY};
+ * оттуда его берет {@link ru.practicum.shareit.client.ReactiveBaseClient}.
+ */
+public class ReactiveTraceIdFilter implements WebFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String traceId = TraceId.fromHeader(exchange.getRequest().getHeaders().getFirst(TraceId.HEADER));
+        exchange.getResponse().getHeaders().set(TraceId.HEADER, traceId);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(TraceId.MDC_KEY, traceId));
+    }
+
+    /**
+     * Первым из фильтров, как и {@link TraceIdFilter}.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTracingConfig {
+
+    @Bean
+    public ReactiveTraceIdFilter reactiveTraceIdFilter() {
+        return new ReactiveTraceIdFilter();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.shareit.metrics.RequestTiming;
+
+/**
+ * Добавляет заголовок Server-Timing перед записью тела ответа, в том числе ответа ErrorHandler.
+ * Заголовок server, переданный в режиме pass-through, заменяется сводным.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "shareit-gateway.server-timing", name = "enabled")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String header = RequestTiming.serverTimingHeader();
+        if (header != null) {
+            response.getHeaders().set(HEADER, header);
+        }
+        return body;
+    }
+}
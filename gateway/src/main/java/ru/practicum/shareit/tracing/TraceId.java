@@ -0,0 +1,64 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.Nullable;
+
+/**
+ * Идентификатор запроса клиента: создается gateway, передается server в заголовке {@value #HEADER}
+ * и попадает в MDC (ключ {@value #MDC_KEY}), чтобы строки логов gateway и server одного запроса можно было связать.
+ */
+public final class TraceId {
+
+    public static final String HEADER = "X-Trace-Id";
+    public static final String MDC_KEY = "traceId";
+
+    private static final Pattern VALID = Pattern.compile("[0-9A-Za-z-]{1,64}");
+
+    private TraceId() {
+    }
+
+    /**
+     * @return идентификатор из заголовка клиента, если он допустим, иначе новый
+     */
+    public static String fromHeader(@Nullable String header) {
+        if (header != null && VALID.matcher(header).matches()) {
+            return header;
+        }
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+    @Nullable
+    public static String current() {
+        return MDC.get(MDC_KEY);
+    }
+
+    /**
+     * Переносит MDC в задачи пула, запущенные из обработчика запроса.
+     */
+    public static TaskDecorator decorator() {
+        return runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            if (context == null) {
+                return runnable;
+            }
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                MDC.setContextMap(context);
+                try {
+                    runnable.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
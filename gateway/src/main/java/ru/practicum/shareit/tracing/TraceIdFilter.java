@@ -0,0 +1,27 @@
+package ru.practicum.shareit.tracing;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+public class TraceIdFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = TraceId.fromHeader(request.getHeader(TraceId.HEADER));
+        MDC.put(TraceId.MDC_KEY, traceId);
+        response.setHeader(TraceId.HEADER, traceId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(TraceId.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(ShareitServerProperties properties, WebClient.Builder builder) {
+        super(builder.baseUrl(properties.getUrl() + API_PREFIX).build(), properties.getTimeout().getRead());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> postUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(int userId, UserDto userDto) {
+        return patch("/" + userId, userDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(int userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUserById(int userId) {
+        return delete("/" + userId);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@SpringBootTest(properties = {
+        "shareit-server.pool.max-total=50",
+        "shareit-server.pool.max-per-route=20"
+})
+public class BaseClientConfigTest {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+    @Autowired
+    private ClientHttpRequestFactory requestFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ShareitServerProperties properties;
+
+    @Test
+    void whenContextStarted_thenPoolConfiguredFromProperties() {
+        assertThat(connectionManager.getMaxTotal(), equalTo(50));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(20));
+        assertThat(requestFactory, notNullValue());
+    }
+
+    @Test
+    void whenContextStarted_thenPoolGaugesRegistered() {
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge(), notNullValue());
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.pending").gauge(), notNullValue());
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge(), notNullValue());
+        assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge(), notNullValue());
+    }
+
+    @Test
+    void whenContextStarted_thenCachedRoutesExposedAsMetrics() {
+        for (String route : new String[]{"item", "request", "user"}) {
+            assertThat(meterRegistry.find("cache.size").tag("cache", route).gauge(), notNullValue());
+        }
+    }
+
+    @Test
+    void whenContextStarted_thenRoutesCheckingUserCachedPerUser() {
+        assertThat(properties.getCache().getRoutes().get("item").isPerUser(), equalTo(true));
+        assertThat(properties.getCache().getRoutes().get("request").isPerUser(), equalTo(true));
+    }
+}
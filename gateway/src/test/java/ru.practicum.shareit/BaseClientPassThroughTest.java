@@ -0,0 +1,98 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ShareitServerProperties;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientPassThroughTest {
+
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"knife\",\"description\":\"for vegetables\"," +
+            "\"available\":true,\"requestId\":null}";
+    private MockRestServiceServer server;
+    private ItemClient itemClient;
+
+    private static String read(Object body) throws IOException {
+        try (InputStream in = ((InputStreamResource) body).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ShareitServerProperties properties = new ShareitServerProperties();
+        properties.setUrl("http://server:9090");
+        properties.setPassThrough(true);
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        itemClient = new ItemClient(properties, new RestTemplateBuilder().customizers(customizer));
+        server = customizer.getServer();
+    }
+
+    @Test
+    void whenGetItemById_thenUpstreamBytesStreamedAsIs() throws IOException {
+        server.expect(requestTo("http://server:9090/items/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = itemClient.getItemById(1, 1);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getBody(), instanceOf(InputStreamResource.class));
+        assertThat(read(response.getBody()), equalTo(ITEM_JSON));
+        server.verify();
+    }
+
+    @Test
+    void whenUpstreamReturnsError_thenStatusAndErrorBodyStreamedAsIs() throws IOException {
+        String error = "{\"error\":\"Вещь [1] не найдена\"}";
+        server.expect(requestTo("http://server:9090/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error.getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<Object> response = itemClient.getItemById(1, 1);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(read(response.getBody()), equalTo(error));
+        server.verify();
+    }
+
+    @Test
+    void whenPostItem_thenRequestBodySentAsJson() throws IOException {
+        server.expect(requestTo("http://server:9090/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json(ITEM_JSON))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = itemClient.postItem(1, new ItemDto(1, "knife", "for vegetables", true,
+                null));
+
+        assertThat(read(response.getBody()), equalTo(ITEM_JSON));
+        server.verify();
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ShareitServerProperties;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientWireFormatTest {
+
+    private static final MediaType SMILE = WireFormat.SMILE.getMediaType();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private MockRestServiceServer server;
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() {
+        ShareitServerProperties properties = new ShareitServerProperties();
+        properties.setUrl("http://server:9090");
+        properties.setWireFormat(WireFormat.SMILE);
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        itemClient = new ItemClient(properties, new RestTemplateBuilder().customizers(customizer));
+        server = customizer.getServer();
+    }
+
+    @Test
+    void whenPostItem_thenSmileSentAndSmileResponseDecoded() throws Exception {
+        ItemDto item = new ItemDto(1, "knife", "for vegetables", true, null);
+        server.expect(requestTo("http://server:9090/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(HttpHeaders.ACCEPT, SMILE.toString()))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, SMILE.toString()))
+                .andExpect(request -> assertThat(smileMapper.readTree(
+                        ((MockClientHttpRequest) request).getBodyAsBytes())
+                        .get("name").asText(), equalTo("knife")))
+                .andRespond(withSuccess(smileMapper.writeValueAsBytes(item), SMILE));
+
+        ResponseEntity<Object> response = itemClient.postItem(1, item);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(((Map<?, ?>) response.getBody()).get("name"), equalTo("knife"));
+        server.verify();
+    }
+
+    @Test
+    void whenServerRespondsWithSmileError_thenErrorBodyDecoded() throws Exception {
+        server.expect(requestTo("http://server:9090/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(SMILE)
+                        .body(smileMapper.writeValueAsBytes(Map.of("error", "Item not found"))));
+
+        ResponseEntity<Object> response = itemClient.getItemById(1, 1);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getBody(), instanceOf(JsonNode.class));
+        assertThat(((JsonNode) response.getBody()).get("error").asText(), equalTo("Item not found"));
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit-gateway.batch.max-size=3",
+        "shareit-gateway.batch.sub-request-timeout=500ms",
+        "shareit-gateway.rate-limit.routes.item-search.capacity=2",
+        "shareit-gateway.rate-limit.routes.item-search.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+public class BatchControllerGatewayTest {
+
+    @MockBean
+    private ItemClient itemClient;
+    @MockBean
+    private BookingClient bookingClient;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenBatchOfReads_thenExecutedInParallelAndAnsweredInOrder() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(itemClient.getItemById(1, 1)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(2, TimeUnit.SECONDS);
+            return ResponseEntity.ok("{\"id\":1,\"name\":\"knife\"}");
+        });
+        when(bookingClient.getOwnerItemsBookings(1, BookingState.WAITING, 0, 15)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(2, TimeUnit.SECONDS);
+            return ResponseEntity.ok("[]");
+        });
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\":\"GET\",\"path\":\"/items/1\"},"
+                                + "{\"method\":\"GET\",\"path\":\"/bookings/owner?state=WAITING\"}]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].body.name", is("knife")))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[1].body.length()", is(0)));
+    }
+
+    @Test
+    void whenWriteFollowsRead_thenWriteStartsAfterReadAndBeforeNextRead() throws Exception {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        when(itemClient.getItemById(2, 1)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            calls.add("read");
+            return ResponseEntity.ok("{\"id\":1,\"name\":\"knife\"}");
+        });
+        when(itemClient.updateItem(eq(2), eq(1), any())).thenAnswer(invocation -> {
+            calls.add("write");
+            return ResponseEntity.ok("{\"id\":1,\"name\":\"saw\"}");
+        });
+        when(itemClient.getItemById(2, 2)).thenAnswer(invocation -> {
+            calls.add("next read");
+            return ResponseEntity.ok("{\"id\":2}");
+        });
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\":\"GET\",\"path\":\"/items/1\"},"
+                                + "{\"method\":\"PATCH\",\"path\":\"/items/1\",\"body\":{\"name\":\"saw\"}},"
+                                + "{\"method\":\"GET\",\"path\":\"/items/2\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].body.name", is("knife")))
+                .andExpect(jsonPath("$[1].body.name", is("saw")))
+                .andExpect(jsonPath("$[2].body.id", is(2)));
+        assertThat(calls, contains("read", "write", "next read"));
+    }
+
+    @Test
+    void whenSubRequestsExceedRateLimit_thenStatus429ForExtraOnes() throws Exception {
+        when(itemClient.searchItems("saw", 0, 15)).thenReturn(ResponseEntity.ok("[]"));
+        String search = "{\"method\":\"GET\",\"path\":\"/items/search?text=saw\"}";
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 3)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", search, search, search) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[2].status", is(429)));
+        verify(itemClient, times(2)).searchItems("saw", 0, 15);
+    }
+
+    @Test
+    void whenSubRequestInvalid_thenOnlyItFails() throws Exception {
+        when(itemClient.searchItems("knife", 0, 15)).thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\":\"POST\",\"path\":\"/items\",\"body\":{\"description\":\"d\"}},"
+                                + "{\"method\":\"GET\",\"path\":\"/bookings?state=UNKNOWN\"},"
+                                + "{\"method\":\"GET\",\"path\":\"/items/search?text=knife\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(400)))
+                .andExpect(jsonPath("$[1].status", is(400)))
+                .andExpect(jsonPath("$[1].body.error", is("Unknown state: UNKNOWN")))
+                .andExpect(jsonPath("$[2].status", is(200)));
+        verify(itemClient, never()).postItem(eq(1), any());
+    }
+
+    @Test
+    void whenSubRequestTooSlow_thenStatus504ForIt() throws Exception {
+        when(itemClient.getItemById(1, 1)).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return ResponseEntity.ok("{}");
+        });
+        when(itemClient.getItemById(1, 2)).thenReturn(ResponseEntity.ok("{\"id\":2}"));
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\":\"GET\",\"path\":\"/items/1\"},"
+                                + "{\"method\":\"GET\",\"path\":\"/items/2\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(504)))
+                .andExpect(jsonPath("$[1].status", is(200)))
+                .andExpect(jsonPath("$[1].body.id", is(2)));
+    }
+
+    @Test
+    void whenBatchTooLarge_thenStatus400() throws Exception {
+        String get = "{\"method\":\"GET\",\"path\":\"/items/1\"}";
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", get, get, get, get) + "]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenRouteUnknown_thenStatus404ForIt() throws Exception {
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\":\"DELETE\",\"path\":\"/items/1\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(404)));
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = "shareit-server.cache.enabled=false")
+@AutoConfigureMockMvc
+public class CompressionFilterTest {
+
+    @MockBean
+    private ItemClient itemClient;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String ownerItemsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"name\":\"knife\",\"description\":\"for vegetables\",")
+                    .append("\"available\":true,\"lastBooking\":null,\"nextBooking\":null,\"comments\":[]}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void whenLargeResponseAndGzipAccepted_thenCompressedAndMeasured() throws Exception {
+        String json = ownerItemsJson(100);
+        when(itemClient.getOwnerItems(1, 0, 15)).thenReturn(ResponseEntity.ok(json));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 1)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING), equalTo("gzip"));
+        assertThat(response.getHeader(HttpHeaders.VARY), equalTo(HttpHeaders.ACCEPT_ENCODING));
+        assertThat(gunzip(response.getContentAsByteArray()), equalTo(json));
+        assertThat(meterRegistry.get("gateway.compression.ratio").tag("route", "/items").summary().max(),
+                greaterThan(5.0));
+        assertThat(meterRegistry.get("gateway.compression.cpu").tag("route", "/items").timer().count(),
+                equalTo(1L));
+    }
+
+    @Test
+    void whenSmallResponse_thenNotCompressed() throws Exception {
+        String json = ownerItemsJson(1);
+        when(itemClient.getOwnerItems(2, 0, 15)).thenReturn(ResponseEntity.ok(json));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 2)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING), nullValue());
+        assertThat(response.getContentAsString(), equalTo(json));
+        assertThat(response.getContentLength(), equalTo(json.length()));
+    }
+
+    @Test
+    void whenGzipNotAccepted_thenNotCompressed() throws Exception {
+        String json = ownerItemsJson(100);
+        when(itemClient.getOwnerItems(3, 0, 15)).thenReturn(ResponseEntity.ok(json));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", 3)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING), nullValue());
+        assertThat(response.getContentAsString(), equalTo(json));
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit;
+
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.client.ConcurrencyLimitInterceptor;
+import ru.practicum.shareit.client.ShareitServerProperties;
+import ru.practicum.shareit.error_handler.ShareitRetryLaterException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private static final URI SEARCH_URI = URI.create("http://server/items/search?text=drill");
+    private static final URI BOOKINGS_URI = URI.create("http://server/bookings");
+
+    private final CountDownLatch upstreamEntered = new CountDownLatch(1);
+    private final CountDownLatch upstreamRelease = new CountDownLatch(1);
+    private final ClientHttpRequestExecution slowSearch = (request, body) -> {
+        if (request.getURI().getPath().equals("/items/search")) {
+            upstreamEntered.countDown();
+            try {
+                upstreamRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    };
+
+    private ShareitServerProperties.Limiter properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShareitServerProperties().getLimiter();
+        properties.getRead().setInitialLimit(1);
+        properties.getRead().setMinLimit(1);
+        properties.getRead().setMaxLimit(1);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void whenReadLimitExhausted_thenReadRejectedAndWritePassed() throws Exception {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties, registry);
+        Thread search = new Thread(() -> {
+            try {
+                interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, SEARCH_URI), new byte[0], slowSearch);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        search.start();
+        upstreamEntered.await(5, TimeUnit.SECONDS);
+
+        ShareitRetryLaterException e = assertThrows(ShareitRetryLaterException.class, () -> interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, SEARCH_URI), new byte[0], slowSearch));
+        int bookingStatus = interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, BOOKINGS_URI),
+                new byte[0], slowSearch).getRawStatusCode();
+        upstreamRelease.countDown();
+        search.join();
+
+        assertThat(e.getStatus(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(e.getRetryAfterSeconds(), equalTo("1"));
+        assertThat(bookingStatus, equalTo(200));
+        assertThat(registry.get("gateway.limiter.rejected").tag("route", "GET /items/search").counter().count(),
+                equalTo(1.0));
+    }
+
+    @Test
+    void whenServerUnavailable_thenLimitDecreased() throws Exception {
+        properties.getRead().setInitialLimit(20);
+        properties.getRead().setMinLimit(4);
+        properties.getRead().setMaxLimit(100);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties, registry);
+        ClientHttpRequestExecution unavailable = (request, body) ->
+                new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < 5; i++) {
+            interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://server/items/" + i)),
+                    new byte[0], unavailable);
+        }
+
+        double limit = registry.get("gateway.limiter.limit").tag("route", "GET /items/{id}").gauge().value();
+        assertThat(limit, lessThan(20.0));
+        assertThat(limit, greaterThanOrEqualTo(4.0));
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit-gateway.dashboard.timeout=1s")
+@AutoConfigureMockMvc
+public class DashboardControllerGatewayTest {
+
+    @MockBean
+    private UserClient userClient;
+    @MockBean
+    private ItemClient itemClient;
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private ItemRequestClient requestClient;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenGetDashboard_thenSectionsRequestedConcurrently() throws Exception {
+        CountDownLatch allStarted = new CountDownLatch(4);
+        when(userClient.getUserById(1)).thenAnswer(afterAllStarted(allStarted, "{\"id\":1,\"name\":\"user1\"}"));
+        when(itemClient.getOwnerItems(1, 0, 15)).thenAnswer(afterAllStarted(allStarted, "[{\"id\":1}]"));
+        when(bookingClient.getOwnerItemsBookings(1, BookingState.WAITING, 0, 15))
+                .thenAnswer(afterAllStarted(allStarted, "[]"));
+        when(requestClient.getUserRequests(1)).thenAnswer(afterAllStarted(allStarted, "[]"));
+
+        mockMvc.perform(get("/dashboard")
+                        .header("X-Sharer-User-Id", 1))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.status", is(200)))
+                .andExpect(jsonPath("$.user.body.name", is("user1")))
+                .andExpect(jsonPath("$.items.body[0].id", is(1)))
+                .andExpect(jsonPath("$.waitingBookings.status", is(200)))
+                .andExpect(jsonPath("$.requests.status", is(200)));
+    }
+
+    @Test
+    void whenSectionsFail_thenOnlyTheyHaveErrors() throws Exception {
+        when(userClient.getUserById(1)).thenReturn(ResponseEntity.ok("{\"id\":1}"));
+        when(itemClient.getOwnerItems(1, 0, 15)).thenThrow(new IllegalStateException("Connection refused"));
+        when(bookingClient.getOwnerItemsBookings(1, BookingState.WAITING, 0, 15)).thenAnswer(invocation -> {
+            Thread.sleep(3000);
+            return ResponseEntity.ok("[]");
+        });
+        when(requestClient.getUserRequests(1))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body("{\"error\":\"Not found\"}"));
+
+        mockMvc.perform(get("/dashboard")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.status", is(200)))
+                .andExpect(jsonPath("$.items.status", is(502)))
+                .andExpect(jsonPath("$.waitingBookings.status", is(504)))
+                .andExpect(jsonPath("$.requests.status", is(404)))
+                .andExpect(jsonPath("$.requests.body.error", is("Not found")));
+    }
+
+    @Test
+    void whenSectionArrivesAfterTimeout_thenItsBodyClosed() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        when(userClient.getUserById(1)).thenReturn(ResponseEntity.ok("{\"id\":1}"));
+        when(itemClient.getOwnerItems(1, 0, 15)).thenReturn(ResponseEntity.ok("[]"));
+        when(bookingClient.getOwnerItemsBookings(1, BookingState.WAITING, 0, 15)).thenAnswer(invocation -> {
+            Thread.sleep(1500);
+            return ResponseEntity.ok(new InputStreamResource(
+                    new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)) {
+                        @Override
+                        public void close() {
+                            closed.countDown();
+                        }
+                    }));
+        });
+        when(requestClient.getUserRequests(1)).thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(get("/dashboard")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.waitingBookings.status", is(504)));
+        assertThat(closed.await(3, TimeUnit.SECONDS), is(true));
+    }
+
+    private static Answer<ResponseEntity<Object>> afterAllStarted(CountDownLatch allStarted, String body) {
+        return invocation -> {
+            allStarted.countDown();
+            if (!allStarted.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Разделы запрашиваются последовательно");
+            }
+            return ResponseEntity.ok(body);
+        };
+    }
+}
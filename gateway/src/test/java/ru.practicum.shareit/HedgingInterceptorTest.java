@@ -0,0 +1,173 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.client.HedgingInterceptor;
+import ru.practicum.shareit.client.LoadBalancingInterceptor;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HedgingInterceptorTest {
+
+    private static final URI ITEM_URI = URI.create("http://server-1:9090/items/1");
+
+    private ShareitServerProperties properties;
+    private SimpleMeterRegistry registry;
+    private HedgingInterceptor hedging;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShareitServerProperties();
+        properties.setUrl("http://server:9090");
+        properties.setUrls(List.of("http://server-1:9090", "http://server-2:9090"));
+        properties.getHedging().setInitialDelay(Duration.ofMillis(20));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (hedging != null) {
+            hedging.stop();
+        }
+    }
+
+    private static ClientHttpRequestExecution serverDelays(long server1Millis, long server2Millis) {
+        return (request, body) -> {
+            String host = request.getURI().getHost();
+            try {
+                Thread.sleep(host.equals("server-1") ? server1Millis : server2Millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse(host.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+    }
+
+    private static String body(ClientHttpResponse response) throws Exception {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private double count(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    private long upstreamRequests(String instance) {
+        return registry.get("gateway.upstream.requests").tag("instance", instance).tag("outcome", "success")
+                .timer().count();
+    }
+
+    @Test
+    void whenPrimarySlow_thenHedgeToOtherInstanceWinsAndEachAttemptCountedOnItsInstance() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties, null, registry);
+        hedging = new HedgingInterceptor(properties.getHedging(), balancer, registry);
+        List<String> hosts = new CopyOnWriteArrayList<>();
+        AtomicInteger calls = new AtomicInteger();
+        ClientHttpRequestExecution firstCallSlow = (request, body) -> {
+            hosts.add(request.getURI().getAuthority());
+            long delay = calls.getAndIncrement() == 0 ? 500 : 10;
+            return serverDelays(delay, delay).execute(request, body);
+        };
+
+        ClientHttpResponse response = balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEM_URI),
+                new byte[0], (request, body) -> hedging.intercept(request, body, firstCallSlow));
+
+        assertThat(hosts, hasSize(2));
+        assertThat(hosts.get(1), not(equalTo(hosts.get(0))));
+        assertThat(body(response), equalTo(hosts.get(1).split(":")[0]));
+        assertThat(count("gateway.hedging.sent"), equalTo(1.0));
+        assertThat(count("gateway.hedging.won"), equalTo(1.0));
+        assertThat(upstreamRequests(hosts.get(1)), equalTo(1L));
+        assertThat(upstreamRequests(hosts.get(0)), equalTo(0L));
+        Thread.sleep(700);
+        assertThat(upstreamRequests(hosts.get(0)), equalTo(1L));
+        assertThat(registry.get("gateway.upstream.outstanding").tag("instance", hosts.get(0)).gauge().value(),
+                equalTo(0.0));
+    }
+
+    @Test
+    void whenCallerInterrupted_thenLateResponseClosed() throws Exception {
+        hedging = new HedgingInterceptor(properties.getHedging(), null, registry);
+        CountDownLatch closed = new CountDownLatch(1);
+        ClientHttpRequestExecution slow = (request, body) -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK) {
+                @Override
+                public void close() {
+                    closed.countDown();
+                }
+            };
+        };
+
+        Thread.currentThread().interrupt();
+        assertThrows(IOException.class, () -> hedging.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEM_URI),
+                new byte[0], slow));
+        Thread.interrupted();
+
+        assertThat(closed.await(2, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void whenPrimaryFast_thenNoHedge() throws Exception {
+        hedging = new HedgingInterceptor(properties.getHedging(), null, registry);
+
+        ClientHttpResponse response = hedging.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEM_URI),
+                new byte[0], serverDelays(0, 0));
+
+        assertThat(body(response), equalTo("server-1"));
+        assertThat(count("gateway.hedging.sent"), equalTo(0.0));
+    }
+
+    @Test
+    void whenNotGetOrRouteNotListed_thenNoHedge() throws Exception {
+        hedging = new HedgingInterceptor(properties.getHedging(), null, registry);
+
+        hedging.intercept(new MockClientHttpRequest(HttpMethod.PATCH, ITEM_URI), new byte[0], serverDelays(50, 50));
+        hedging.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://server-1:9090/items/search")),
+                new byte[0], serverDelays(50, 50));
+
+        assertThat(count("gateway.hedging.sent"), equalTo(0.0));
+    }
+
+    @Test
+    void whenBudgetExhausted_thenHedgesCapped() throws Exception {
+        properties.getHedging().setBudgetPercent(0);
+        properties.getHedging().setInitialDelay(Duration.ofMillis(5));
+        hedging = new HedgingInterceptor(properties.getHedging(), null, registry);
+
+        for (int i = 0; i < 12; i++) {
+            hedging.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEM_URI), new byte[0],
+                    serverDelays(30, 30)).close();
+        }
+
+        assertThat(count("gateway.hedging.sent"), equalTo(10.0));
+        assertThat(count("gateway.hedging.budget.exhausted"), equalTo(2.0));
+    }
+}
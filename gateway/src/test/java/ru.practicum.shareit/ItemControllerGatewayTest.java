@@ -3,6 +3,7 @@ package ru.practicum.shareit;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -14,11 +15,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.error_handler.ErrorHandler;
+import ru.practicum.shareit.error_handler.ShareitRetryLaterException;
 import ru.practicum.shareit.item.CommentDto;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.ItemControllerGateway;
@@ -34,6 +37,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -316,4 +320,20 @@ public class ItemControllerGatewayTest {
                 .andExpect(jsonPath("$.error", is("must not be blank")));
     }
 
+
+    @Test
+    void whenServerConcurrencyLimitExceeded_thenStatus503WithRetryAfter() throws Exception {
+        when(itemClient.searchItems("дрель", 0, 15))
+                .thenThrow(new ShareitRetryLaterException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Превышен лимит одновременных запросов GET /items/search", Duration.ofSeconds(2)));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "дрель")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error", is("Превышен лимит одновременных запросов GET /items/search")));
+    }
 }
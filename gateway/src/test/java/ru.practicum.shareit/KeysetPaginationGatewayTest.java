@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = "shareit-server.cache.enabled=false")
+@AutoConfigureMockMvc
+public class KeysetPaginationGatewayTest {
+
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private ItemClient itemClient;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenAfterGiven_thenCursorForwardedAndNextReturned() throws Exception {
+        when(bookingClient.getUserBookingsAfter(1, BookingState.ALL, "MjAyMw", 15))
+                .thenReturn(ResponseEntity.ok().header("X-Next-After", "MjAyNA").body("[]"));
+
+        MockHttpServletResponse response = mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("after", "MjAyMw"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus(), equalTo(200));
+        assertThat(response.getHeader("X-Next-After"), equalTo("MjAyNA"));
+        verify(bookingClient, never()).getUserBookings(anyInt(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void whenNoAfter_thenOffsetPaging() throws Exception {
+        when(itemClient.searchItems("drill", 30, 15)).thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(get("/items/search")
+                .param("text", "drill")
+                .param("from", "30"));
+
+        verify(itemClient).searchItems("drill", 30, 15);
+        verify(itemClient, never()).searchItemsAfter(anyString(), anyString(), anyInt());
+    }
+}
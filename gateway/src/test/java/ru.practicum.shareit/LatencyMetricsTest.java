@@ -0,0 +1,106 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit-server.cache.enabled=false")
+@AutoConfigureMockMvc
+public class LatencyMetricsTest {
+
+    private static final long SERVER_DELAY_MILLIS = 200;
+
+    @MockBean(name = "shareitServerRequestFactory")
+    private ClientHttpRequestFactory requestFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(requestFactory.createRequest(any(URI.class), any(HttpMethod.class)))
+                .thenAnswer(invocation -> new SlowServerRequest(invocation.getArgument(1), invocation.getArgument(0)));
+    }
+
+    private Timer timer(String name, String route) {
+        return meterRegistry.get(name).tags("route", route, "method", "GET", "status", "200").timer();
+    }
+
+    @Test
+    void whenGetItem_thenGatewayAndServerTimeRecordedSeparately() throws Exception {
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+
+        Timer requests = timer("gateway.requests", "/items/{itemId}");
+        Timer upstream = timer("gateway.requests.upstream", "/items/{itemId}");
+        Timer overhead = timer("gateway.requests.overhead", "/items/{itemId}");
+        assertThat(requests.count(), equalTo(1L));
+        assertThat(upstream.count(), equalTo(1L));
+        assertThat(upstream.totalTime(TimeUnit.MILLISECONDS), greaterThanOrEqualTo((double) SERVER_DELAY_MILLIS));
+        assertThat(overhead.totalTime(TimeUnit.MILLISECONDS), lessThan(requests.totalTime(TimeUnit.MILLISECONDS)));
+        assertThat(requests.takeSnapshot().percentileValues().length, equalTo(3));
+    }
+
+    @Test
+    void whenDashboardCallsServerInParallel_thenServerTimeNotSummed() throws Exception {
+        mockMvc.perform(get("/dashboard")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk());
+
+        Timer requests = timer("gateway.requests", "/dashboard");
+        Timer overhead = timer("gateway.requests.overhead", "/dashboard");
+        assertThat(meterRegistry.get("gateway.requests.upstream").tag("route", "/dashboard").timer().count(),
+                equalTo(4L));
+        assertThat(requests.totalTime(TimeUnit.MILLISECONDS), lessThan(3.0 * SERVER_DELAY_MILLIS));
+        assertThat(overhead.totalTime(TimeUnit.MILLISECONDS), lessThan((double) SERVER_DELAY_MILLIS));
+    }
+
+    private static class SlowServerRequest extends MockClientHttpRequest {
+
+        SlowServerRequest(HttpMethod method, URI uri) {
+            super(method, uri);
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal() throws IOException {
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            MockClientHttpResponse response = new MockClientHttpResponse(
+                    "{\"id\":1}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.client.LoadBalancingInterceptor;
+import ru.practicum.shareit.client.ShareitServerProperties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LoadBalancingInterceptorTest {
+
+    private static final URI ITEMS_URI = URI.create("http://server:9090/items?from=0&size=15");
+
+    private final Map<String, AtomicInteger> callsByHost = new ConcurrentHashMap<>();
+    private final ClientHttpRequestExecution countingExecution = (request, body) -> {
+        callsByHost.computeIfAbsent(request.getURI().getHost(), host -> new AtomicInteger()).incrementAndGet();
+        return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    };
+    private ShareitServerProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShareitServerProperties();
+        properties.setUrl("http://server:9090");
+        properties.setUrls(List.of("http://server-1:9090", "http://server-2:9091"));
+        properties.getBalancer().setMaxConsecutiveFailures(2);
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static ClientHttpRequestFactory healthResponses(HttpStatus server1, HttpStatus server2) {
+        return (uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            request.setResponse(new MockClientHttpResponse(new byte[0],
+                    uri.getHost().equals("server-1") ? server1 : server2));
+            return request;
+        };
+    }
+
+    private int calls(String host) {
+        return callsByHost.getOrDefault(host, new AtomicInteger()).get();
+    }
+
+    @Test
+    void whenInstancesHealthy_thenRequestsSpreadWithPathAndQueryKept() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.OK, HttpStatus.OK), registry);
+        ClientHttpRequestExecution checkingExecution = (request, body) -> {
+            assertThat(request.getURI().getRawPath(), equalTo("/items"));
+            assertThat(request.getURI().getRawQuery(), equalTo("from=0&size=15"));
+            return countingExecution.execute(request, body);
+        };
+
+        for (int i = 0; i < 50; i++) {
+            balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], checkingExecution);
+        }
+
+        assertThat(calls("server-1"), greaterThan(0));
+        assertThat(calls("server-2"), greaterThan(0));
+        assertThat(calls("server-1") + calls("server-2"), equalTo(50));
+    }
+
+    @Test
+    void whenInstanceBusy_thenLessLoadedInstanceChosen() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.OK, HttpStatus.OK), registry);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, String> busyHost = new ConcurrentHashMap<>();
+        ClientHttpRequestExecution blocking = (request, body) -> {
+            busyHost.put("host", request.getURI().getHost());
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+        Thread slow = new Thread(() -> {
+            try {
+                balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], blocking);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        slow.start();
+        entered.await(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 10; i++) {
+            balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], countingExecution);
+        }
+        release.countDown();
+        slow.join();
+
+        assertThat(calls(busyHost.get("host")), equalTo(0));
+    }
+
+    @Test
+    void whenInstanceFailsConsecutively_thenEjected() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.OK, HttpStatus.OK), registry);
+        ClientHttpRequestExecution server1Down = (request, body) -> {
+            if (request.getURI().getHost().equals("server-1")) {
+                throw new ConnectException("Connection refused");
+            }
+            return countingExecution.execute(request, body);
+        };
+
+        int failures = 0;
+        for (int i = 0; i < 20 && failures < 2; i++) {
+            try {
+                balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], server1Down);
+            } catch (ConnectException e) {
+                failures++;
+            }
+        }
+        callsByHost.clear();
+        for (int i = 0; i < 20; i++) {
+            balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], server1Down);
+        }
+
+        assertThat(calls("server-2"), equalTo(20));
+        assertThat(registry.get("gateway.upstream.ejections").tag("instance", "server-1:9090").counter().count(),
+                equalTo(1.0));
+        assertThat(registry.get("gateway.upstream.available").tag("instance", "server-1:9090").gauge().value(),
+                equalTo(0.0));
+    }
+
+    @Test
+    void whenInstanceAnswersDeadlineOrServerErrors_thenNotEjected() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.OK, HttpStatus.OK), registry);
+        ClientHttpRequestExecution server1Slow = (request, body) -> {
+            callsByHost.computeIfAbsent(request.getURI().getHost(), host -> new AtomicInteger()).incrementAndGet();
+            boolean server1 = request.getURI().getHost().equals("server-1");
+            return new MockClientHttpResponse(new byte[0], server1 && calls("server-1") % 2 == 0
+                    ? HttpStatus.GATEWAY_TIMEOUT : server1 ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK);
+        };
+
+        for (int i = 0; i < 40; i++) {
+            balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], server1Slow);
+        }
+
+        assertThat(calls("server-1"), greaterThan(2));
+        assertThat(registry.get("gateway.upstream.ejections").tag("instance", "server-1:9090").counter().count(),
+                equalTo(0.0));
+    }
+
+    @Test
+    void whenInstanceAnswers503Consecutively_thenEjected() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.OK, HttpStatus.OK), registry);
+        ClientHttpRequestExecution server1Unavailable = (request, body) -> request.getURI().getHost().equals("server-1")
+                ? new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE)
+                : countingExecution.execute(request, body);
+
+        for (int i = 0; i < 40; i++) {
+            balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], server1Unavailable);
+        }
+
+        assertThat(registry.get("gateway.upstream.ejections").tag("instance", "server-1:9090").counter().count(),
+                equalTo(1.0));
+    }
+
+    @Test
+    void whenHealthCheckFails_thenInstanceOutOfRotation() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK), registry);
+
+        balancer.checkHealth();
+        for (int i = 0; i < 20; i++) {
+            balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], countingExecution);
+        }
+
+        assertThat(calls("server-1"), equalTo(0));
+        assertThat(calls("server-2"), equalTo(20));
+    }
+
+    @Test
+    void whenAllInstancesDown_thenRequestsStillSent() throws Exception {
+        LoadBalancingInterceptor balancer = new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE), registry);
+
+        balancer.checkHealth();
+        balancer.intercept(new MockClientHttpRequest(HttpMethod.GET, ITEMS_URI), new byte[0], countingExecution);
+
+        assertThat(calls("server-1") + calls("server-2"), equalTo(1));
+    }
+
+    @Test
+    void whenUrlsEmpty_thenConfigurationRejected() {
+        properties.setUrls(List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> new LoadBalancingInterceptor(properties,
+                healthResponses(HttpStatus.OK, HttpStatus.OK), registry));
+    }
+}
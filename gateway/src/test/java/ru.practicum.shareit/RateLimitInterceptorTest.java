@@ -0,0 +1,104 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit-gateway.rate-limit.routes.owner-bookings.pattern=/bookings/owner",
+        "shareit-gateway.rate-limit.routes.owner-bookings.method=GET",
+        "shareit-gateway.rate-limit.routes.owner-bookings.capacity=2",
+        "shareit-gateway.rate-limit.routes.owner-bookings.refill-per-second=0.01",
+        "shareit-gateway.rate-limit.routes.item-search.pattern=/items/search",
+        "shareit-gateway.rate-limit.routes.item-search.capacity=1",
+        "shareit-gateway.rate-limit.routes.item-search.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+public class RateLimitInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() {
+        when(bookingClient.getOwnerItemsBookings(anyInt(), eq(BookingState.ALL), anyInt(), anyInt()))
+                .thenReturn(ResponseEntity.ok("[]"));
+        when(itemClient.searchItems(anyString(), anyInt(), anyInt()))
+                .thenReturn(ResponseEntity.ok("[]"));
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    @Test
+    void whenUserExceedsRouteLimit_thenStatus429WithRateLimitHeaders() throws Exception {
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "2"))
+                .andExpect(header().string("X-RateLimit-Remaining", "1"));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Remaining", "0"));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("X-RateLimit-Remaining", "0"))
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.error", is("Превышен лимит запросов owner-bookings")));
+    }
+
+    @Test
+    void whenOtherUserCallsSameRoute_thenNotThrottled() throws Exception {
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 10));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 10));
+
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 11))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenAnonymousSearch_thenLimitedPerClientIp() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "дрель").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/items/search").param("text", "дрель").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/items/search").param("text", "дрель").with(remoteAddr("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenRouteNotLimited_thenNoRateLimitHeaders() throws Exception {
+        when(itemClient.getItemById(1, 1)).thenReturn(ResponseEntity.ok("{}"));
+
+        mockMvc.perform(get("/items/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-RateLimit-Limit"));
+    }
+}
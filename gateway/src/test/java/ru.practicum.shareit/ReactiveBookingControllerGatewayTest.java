@@ -0,0 +1,183 @@
+package ru.practicum.shareit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingRequestDto;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.ReactiveBookingClient;
+import ru.practicum.shareit.booking.ReactiveBookingControllerGateway;
+import ru.practicum.shareit.client.ShareitServerProperties;
+import ru.practicum.shareit.item.ReactiveItemClient;
+import ru.practicum.shareit.request.ReactiveItemRequestClient;
+import ru.practicum.shareit.tracing.ReactiveTracingConfig;
+import ru.practicum.shareit.user.ReactiveUserClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveBookingControllerGateway.class)
+@Import(ReactiveTracingConfig.class)
+public class ReactiveBookingControllerGatewayTest {
+
+    @Autowired
+    private WebTestClient webClient;
+    @MockBean
+    private ReactiveBookingClient bookingClient;
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> serverResponse(String json) {
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+        return Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Flux.just(buffer)));
+    }
+
+    @Test
+    void whenReactiveClientsCallServer_thenReadTimeoutSentAsRelativeBudget() {
+        ShareitServerProperties properties = new ShareitServerProperties();
+        properties.getTimeout().setRead(Duration.ofSeconds(3));
+        List<String> timeouts = new CopyOnWriteArrayList<>();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction((ClientRequest request) -> {
+            timeouts.add(request.headers().getFirst("X-Request-Timeout"));
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+
+        new ReactiveBookingClient(properties, builder.clone()).getBookingById(1, 1).block();
+        new ReactiveItemClient(properties, builder.clone()).getItemById(1, 1).block();
+        new ReactiveItemRequestClient(properties, builder.clone()).getRequestById(1, 1).block();
+        new ReactiveUserClient(properties, builder.clone()).getUserById(1).block();
+
+        assertThat(timeouts, hasSize(4));
+        assertThat(timeouts, everyItem(is("3000")));
+    }
+
+    @Test
+    void whenPostBookingWithIdempotencyKey_thenKeyForwardedToServer() {
+        List<String> keys = new CopyOnWriteArrayList<>();
+        ReactiveBookingClient client = new ReactiveBookingClient(new ShareitServerProperties(),
+                WebClient.builder().exchangeFunction((ClientRequest request) -> {
+                    keys.add(request.headers().getFirst("Idempotency-Key"));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                }));
+        when(bookingClient.postBooking(eq(1), any(BookingRequestDto.class), eq("key-1")))
+                .thenAnswer(invocation -> client.postBooking(1, invocation.getArgument(1), invocation.getArgument(2)));
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        webClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "1")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BookingRequestDto.builder().itemId(1).start(start).end(start.plusDays(1)).build())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(keys, is(List.of("key-1")));
+    }
+
+    @Test
+    void whenTraceIdSentOrMissing_thenSameIdReturnedAndForwardedToServer() {
+        List<String> forwarded = new CopyOnWriteArrayList<>();
+        ReactiveBookingClient client = new ReactiveBookingClient(new ShareitServerProperties(),
+                WebClient.builder().exchangeFunction((ClientRequest request) -> {
+                    forwarded.add(request.headers().getFirst("X-Trace-Id"));
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                }));
+        when(bookingClient.getBookingById(1, 2)).thenAnswer(invocation -> client.getBookingById(1, 2));
+
+        webClient.get().uri("/bookings/2")
+                .header("X-Sharer-User-Id", "1")
+                .header("X-Trace-Id", "trace-1")
+                .exchange()
+                .expectHeader().valueEquals("X-Trace-Id", "trace-1");
+        String generated = webClient.get().uri("/bookings/2")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .returnResult(String.class).getResponseHeaders().getFirst("X-Trace-Id");
+
+        assertThat(forwarded, is(List.of("trace-1", generated)));
+    }
+
+    @Test
+    void whenGetUserBookings_thenServerResponsePassedThrough() {
+        when(bookingClient.getUserBookings(1, BookingState.WAITING, 0, 15))
+                .thenReturn(serverResponse("[{\"id\":1,\"status\":\"WAITING\"}]"));
+
+        webClient.get().uri("/bookings?state=WAITING")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[{\"id\":1,\"status\":\"WAITING\"}]");
+    }
+
+    @Test
+    void whenApproveBooking_thenStatus200() {
+        when(bookingClient.approveOrRejectBooking(eq(1), eq(2), eq(true)))
+                .thenReturn(serverResponse("{\"id\":2,\"status\":\"APPROVED\"}"));
+
+        webClient.patch().uri("/bookings/2?approved=true")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("APPROVED");
+    }
+
+    @Test
+    void whenUnknownState_thenStatus400() {
+        webClient.get().uri("/bookings?state=UNSUPPORTED_STATUS")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED_STATUS");
+    }
+
+    @Test
+    void whenSizeIsZero_thenStatus400() {
+        webClient.get().uri("/bookings/owner?size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenApprovedParamMissing_thenStatus400() {
+        webClient.patch().uri("/bookings/2")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error")
+                .isEqualTo("Required request parameter 'approved' for method parameter type boolean is not present");
+    }
+
+    @Test
+    void whenUserHeaderMissing_thenStatus500() {
+        webClient.get().uri("/bookings/2")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody().jsonPath("$.error")
+                .isEqualTo("Required request header 'X-Sharer-User-Id' for method parameter type int is not present");
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.client.RequestCoalescingInterceptor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class RequestCoalescingInterceptorTest {
+
+    private static final URI ITEM_URI = URI.create("http://server/items/1");
+    private static final String ITEM_JSON = "{\"id\":1}";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch upstreamEntered = new CountDownLatch(1);
+    private final CountDownLatch upstreamRelease = new CountDownLatch(1);
+    private SimpleMeterRegistry registry;
+
+    private final ClientHttpRequestExecution blockingExecution = (request, body) -> {
+        upstreamCalls.incrementAndGet();
+        if ("1".equals(request.getHeaders().getFirst("X-Sharer-User-Id"))) {
+            upstreamEntered.countDown();
+            try {
+                upstreamRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new MockClientHttpResponse(ITEM_JSON.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    };
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static HttpRequest itemRequest(String userId) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, ITEM_URI);
+        request.getHeaders().set("X-Sharer-User-Id", userId);
+        return request;
+    }
+
+    private static String read(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void awaitParked(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.TIMED_WAITING && thread.isAlive()) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    @Test
+    void whenIdenticalGetsInFlight_thenServerCalledOnce() throws Exception {
+        RequestCoalescingInterceptor interceptor = new RequestCoalescingInterceptor(Duration.ofSeconds(5));
+        interceptor.bindTo(registry);
+        ConcurrentLinkedQueue<String> bodies = new ConcurrentLinkedQueue<>();
+        Runnable call = () -> {
+            try {
+                bodies.add(read(interceptor.intercept(itemRequest("1"), new byte[0], blockingExecution)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        Thread leader = new Thread(call);
+        leader.start();
+        upstreamEntered.await(5, TimeUnit.SECONDS);
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread follower = new Thread(call);
+            followers.add(follower);
+            follower.start();
+        }
+        awaitParked(followers);
+        upstreamRelease.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertThat(upstreamCalls.get(), equalTo(1));
+        assertThat(bodies.size(), equalTo(5));
+        assertThat(bodies.stream().allMatch(ITEM_JSON::equals), equalTo(true));
+        assertThat(registry.get("gateway.coalescing.requests").tag("role", "follower").functionCounter().count(),
+                equalTo(4.0));
+        assertThat(registry.get("gateway.coalescing.ratio").gauge().value(), equalTo(0.8));
+    }
+
+    @Test
+    void whenNoFollowerJoined_thenLeaderResponseStreamedWithoutBuffering() throws Exception {
+        RequestCoalescingInterceptor interceptor = new RequestCoalescingInterceptor(Duration.ofSeconds(5));
+        MockClientHttpResponse upstream =
+                new MockClientHttpResponse(ITEM_JSON.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+
+        ClientHttpResponse response = interceptor.intercept(itemRequest("2"), new byte[0], (request, body) -> upstream);
+
+        assertThat(response, sameInstance(upstream));
+        assertThat(read(interceptor.intercept(itemRequest("2"), new byte[0], blockingExecution)),
+                equalTo(ITEM_JSON));
+    }
+
+    @Test
+    void whenOtherUserRequestsSameItem_thenNotCoalesced() throws Exception {
+        RequestCoalescingInterceptor interceptor = new RequestCoalescingInterceptor(Duration.ofSeconds(5));
+        Thread leader = new Thread(() -> {
+            try {
+                interceptor.intercept(itemRequest("1"), new byte[0], blockingExecution);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        leader.start();
+        upstreamEntered.await(5, TimeUnit.SECONDS);
+
+        String body = read(interceptor.intercept(itemRequest("2"), new byte[0], blockingExecution));
+        upstreamRelease.countDown();
+        leader.join();
+
+        assertThat(body, equalTo(ITEM_JSON));
+        assertThat(upstreamCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void whenLeaderSlowerThanMaxWait_thenFollowerCallsServerItself() throws Exception {
+        RequestCoalescingInterceptor interceptor = new RequestCoalescingInterceptor(Duration.ofMillis(50));
+        interceptor.bindTo(registry);
+        ClientHttpRequestExecution fastForFollower = (request, body) -> upstreamCalls.get() == 0
+                ? blockingExecution.execute(request, body)
+                : new MockClientHttpResponse(ITEM_JSON.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        Thread leader = new Thread(() -> {
+            try {
+                interceptor.intercept(itemRequest("1"), new byte[0], fastForFollower);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        leader.start();
+        upstreamEntered.await(5, TimeUnit.SECONDS);
+
+        String body = read(interceptor.intercept(itemRequest("1"), new byte[0], fastForFollower));
+        upstreamRelease.countDown();
+        leader.join();
+
+        assertThat(body, equalTo(ITEM_JSON));
+        assertThat(registry.get("gateway.coalescing.timeouts").functionCounter().count(), equalTo(1.0));
+    }
+}
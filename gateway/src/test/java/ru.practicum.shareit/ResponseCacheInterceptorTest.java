@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ResponseCacheInterceptor;
+import ru.practicum.shareit.client.ShareitServerProperties;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ResponseCacheInterceptorTest {
+
+    private static final String ITEM_URL = "http://server/items/1";
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"Дрель\"}";
+
+    private MockRestServiceServer server;
+    private ItemClient itemClient;
+    private ResponseCacheInterceptor cacheInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        ShareitServerProperties properties = new ShareitServerProperties();
+        properties.setUrl("http://server");
+        ShareitServerProperties.Route route = new ShareitServerProperties.Route();
+        route.setPattern("/items/{itemId:\\d+}");
+        route.setPerUser(true);
+        route.setInvalidateOn(List.of("PATCH /items/*", "POST /bookings"));
+        properties.getCache().getRoutes().put("item", route);
+
+        cacheInterceptor = new ResponseCacheInterceptor(properties.getCache());
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        itemClient = new ItemClient(properties,
+                new RestTemplateBuilder().customizers(customizer).additionalInterceptors(cacheInterceptor));
+        server = customizer.getServer();
+    }
+
+    @Test
+    void whenSameUserGetsItemTwice_thenServerCalledOnce() {
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> first = itemClient.getItemById(1, 1);
+        ResponseEntity<Object> second = itemClient.getItemById(1, 1);
+
+        server.verify();
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(second.getBody(), equalTo(first.getBody()));
+    }
+
+    @Test
+    void whenCachedResponseReplayed_thenPerRequestHeadersNotReplayed() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Server-Timing", "db;dur=12.0");
+        headers.set("X-Trace-Id", "trace-1");
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> first = itemClient.getItemById(1, 1);
+        ResponseEntity<Object> second = itemClient.getItemById(1, 1);
+
+        server.verify();
+        assertThat(first.getHeaders().getFirst("Server-Timing"), equalTo("db;dur=12.0"));
+        assertThat(second.getHeaders().getFirst("Server-Timing"), nullValue());
+        assertThat(second.getHeaders().getFirst("X-Trace-Id"), nullValue());
+        assertThat(second.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void whenOtherUserGetsItem_thenServerCalledAgain() {
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+
+        itemClient.getItemById(1, 1);
+        itemClient.getItemById(2, 1);
+
+        server.verify();
+    }
+
+    @Test
+    void whenItemUpdated_thenCachedItemInvalidated() {
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andExpect(method(HttpMethod.PATCH))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"Перфоратор\"}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"Перфоратор\"}", MediaType.APPLICATION_JSON));
+
+        itemClient.getItemById(1, 1);
+        itemClient.updateItem(1, 1, new ItemDto(1, "Перфоратор", null, null, null));
+        itemClient.getItemById(1, 1);
+
+        server.verify();
+    }
+
+    @Test
+    void whenServerReturnsError_thenResponseNotCached() {
+        server.expect(ExpectedCount.twice(), requestTo(ITEM_URL))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"Вещь не найдена\"}"));
+
+        itemClient.getItemById(1, 1);
+        ResponseEntity<Object> second = itemClient.getItemById(1, 1);
+
+        server.verify();
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void whenCacheHit_thenHitCounted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cacheInterceptor.bindTo(registry);
+        server.expect(ExpectedCount.once(), requestTo(ITEM_URL))
+                .andRespond(withSuccess(ITEM_JSON, MediaType.APPLICATION_JSON));
+
+        itemClient.getItemById(1, 1);
+        itemClient.getItemById(1, 1);
+
+        assertThat(registry.get("cache.gets").tag("cache", "item").tag("result", "hit")
+                .functionCounter().count(), equalTo(1.0));
+        assertThat(registry.get("cache.gets").tag("cache", "item").tag("result", "miss")
+                .functionCounter().count(), equalTo(1.0));
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"shareit-server.cache.enabled=false", "shareit-gateway.server-timing.enabled=true"})
+@AutoConfigureMockMvc
+public class ServerTimingTest {
+
+    private final List<HttpHeaders> serverRequests = new CopyOnWriteArrayList<>();
+
+    @MockBean(name = "shareitServerRequestFactory")
+    private ClientHttpRequestFactory requestFactory;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(requestFactory.createRequest(any(URI.class), any(HttpMethod.class)))
+                .thenAnswer(invocation -> new TimedServerRequest(invocation.getArgument(1), invocation.getArgument(0)));
+    }
+
+    @Test
+    void whenGetItem_thenGatewayAndServerPhasesInServerTiming() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader("Server-Timing"), matchesPattern("validation;dur=\\d+\\.\\d\\d, "
+                + "upstream;dur=\\d+\\.\\d\\d, db;dur=3\\.50, mapping;dur=0\\.25, serialization;dur=1\\.00, "
+                + "server;dur=5\\.00, total;dur=\\d+\\.\\d\\d"));
+        String traceId = response.getHeader("X-Trace-Id");
+        assertThat(traceId, notNullValue());
+        assertThat(serverRequests.get(0).getFirst("X-Trace-Id"), equalTo(traceId));
+    }
+
+    @Test
+    void whenDashboardCallsServerInParallel_thenTraceIdForwardedAndServerPhasesSummed() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/dashboard")
+                        .header("X-Sharer-User-Id", 1)
+                        .header("X-Trace-Id", "client-trace"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(serverRequests, hasSize(4));
+        assertThat(serverRequests.stream().map(headers -> headers.getFirst("X-Trace-Id")).collect(Collectors.toList()),
+                everyItem(equalTo("client-trace")));
+        assertThat(response.getHeader("Server-Timing"), matchesPattern(".*db;dur=14\\.00, .*server;dur=20\\.00, .*"));
+    }
+
+    private class TimedServerRequest extends MockClientHttpRequest {
+
+        TimedServerRequest(HttpMethod method, URI uri) {
+            super(method, uri);
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal() {
+            serverRequests.add(getHeaders());
+            MockClientHttpResponse response = new MockClientHttpResponse(
+                    "{\"id\":1}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().set("Server-Timing",
+                    "db;dur=3.50, mapping;dur=0.25, serialization;dur=1.00, total;dur=5.00");
+            return response;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.pageable.CountDto;
+import ru.practicum.shareit.pageable.KeysetCursor;
 
 @RestController
 @RequiredArgsConstructor
@@ -41,17 +45,46 @@ public class BookingController {
     @GetMapping
     public List<BookingResponseDto> findUserBookings(@RequestHeader("X-Sharer-User-Id") int userId,
                                                      @RequestParam BookingState state,
-                                                     @RequestParam int from,
-                                                     @RequestParam int size) {
-        return bookingService.findUserBookings(userId, state, from, size);
+                                                     @RequestParam(defaultValue = "0") int from,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam int size,
+                                                     HttpServletResponse response) {
+        if (after == null) {
+            return bookingService.findUserBookings(userId, state, from, size);
+        }
+        List<BookingResponseDto> bookings = bookingService.findUserBookingsAfter(userId, state,
+                KeysetCursor.decode(after), size);
+        KeysetCursor.setNext(response, bookings, size, booking -> new KeysetCursor(booking.getStart(),
+                booking.getId()));
+        return bookings;
     }
 
     @GetMapping("/owner")
     public List<BookingResponseDto> findOwnerItemsBookings(@RequestHeader("X-Sharer-User-Id") int userId,
                                                            @RequestParam BookingState state,
-                                                           @RequestParam int from,
-                                                           @RequestParam int size) {
-        return bookingService.findOwnerItemsBookings(userId, state, from, size);
+                                                           @RequestParam(defaultValue = "0") int from,
+                                                           @RequestParam(required = false) String after,
+                                                           @RequestParam int size,
+                                                           HttpServletResponse response) {
+        if (after == null) {
+            return bookingService.findOwnerItemsBookings(userId, state, from, size);
+        }
+        List<BookingResponseDto> bookings = bookingService.findOwnerItemsBookingsAfter(userId, state,
+                KeysetCursor.decode(after), size);
+        KeysetCursor.setNext(response, bookings, size, booking -> new KeysetCursor(booking.getStart(),
+                booking.getId()));
+        return bookings;
+    }
+
+    @GetMapping("/count")
+    public CountDto countUserBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                      @RequestParam BookingState state) {
+        return bookingService.countUserBookings(userId, state);
     }
 
+    @GetMapping("/owner/count")
+    public CountDto countOwnerItemsBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                            @RequestParam BookingState state) {
+        return bookingService.countOwnerItemsBookings(userId, state);
+    }
 }
@@ -1,15 +1,28 @@
 package ru.practicum.shareit.booking;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
 
+    /**
+     * Следующая страница после (start, id) в порядке start desc, id desc: условие и сортировка
+     * совпадают с индексами bookings_booker_start_idx и bookings_item_start_idx. Избыточное
+     * b.start <= :start дает планировщику границу диапазона по индексу, по одному or он ее не выводит.
+     */
+    String AFTER_CURSOR = " and b.start <= :start and ( b.start < :start or b.id < :id ) ";
+    String CURSOR_ORDER = " order by b.start desc, b.id desc ";
+    String BY_BOOKER = " select b from Booking as b where b.booker.id = :userId ";
+    String BY_OWNER = " select b from Booking as b where b.item.owner.id = :userId ";
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " left join b.booker as booker " +
             " left join b.item as item " +
@@ -18,28 +31,35 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
             " and (booker.id = :userId or owner.id = :userId) ")
     Optional<Booking> findByBookingIdAndUserId(int bookingId, int userId);
 
-    Page<Booking> findByBookerIdAndStatus(Integer bookerId, BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findByBookerIdAndStatus(Integer bookerId, BookingStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " join b.booker as booker " +
             " where booker.id = :bookerId " +
             " and :now between b.start and b.end ")
-    Page<Booking> findAllByBookerIdAndCurrentOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
+    Slice<Booking> findAllByBookerIdAndCurrentOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdOrderByStartDesc(int bookerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdOrderByStartDesc(int bookerId, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " join b.item as item " +
             " where item.id in " +
             "( select i.id from Item as i " +
             " join i.owner as owner " +
             " where owner.id = ?1 ) ")
-    Page<Booking> findAllByOwnerItemsOrderByStartDesc(int ownerId, Pageable pageable);
+    Slice<Booking> findAllByOwnerItemsOrderByStartDesc(int ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " join b.item as item " +
             " where item.id in " +
@@ -47,8 +67,9 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
             " join i.owner as owner " +
             " where owner.id = ?1 ) " +
             " and ?2 between b.start and b.end ")
-    Page<Booking> findAllByOwnerItemsAndCurrentOrderByStartDesc(int ownerId, LocalDateTime now, Pageable pageable);
+    Slice<Booking> findAllByOwnerItemsAndCurrentOrderByStartDesc(int ownerId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " join b.item as item " +
             " where item.id in " +
@@ -56,8 +77,9 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
             " join i.owner as owner " +
             "where owner.id = ?1 ) " +
             " and b.end < ?2 ")
-    Page<Booking> findAllByOwnerItemsAndPastOrderByStartDesc(int ownerId, LocalDateTime now, Pageable pageable);
+    Slice<Booking> findAllByOwnerItemsAndPastOrderByStartDesc(int ownerId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " join b.item as item " +
             " where item.id in " +
@@ -65,8 +87,9 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
             " join i.owner as owner " +
             "where owner.id = ?1 ) " +
             " and b.start > ?2 ")
-    Page<Booking> findAllByOwnerItemsAndFutureOrderByStartDesc(int ownerId, LocalDateTime now, Pageable pageable);
+    Slice<Booking> findAllByOwnerItemsAndFutureOrderByStartDesc(int ownerId, LocalDateTime now, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query(" select b from Booking as b " +
             " join b.item as item " +
             " where item.id in " +
@@ -74,7 +97,81 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
             " join i.owner as owner " +
             "where owner.id = ?1 ) " +
             " and b.status = ?2 ")
-    Page<Booking> findAllByOwnerItemsAndStatusOrderByStartDesc(int ownerId, BookingStatus status, Pageable pageable);
+    Slice<Booking> findAllByOwnerItemsAndStatusOrderByStartDesc(int ownerId, BookingStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findBookerBookingsAfter(int userId, LocalDateTime start, int id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + " and :now between b.start and b.end " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findBookerCurrentBookingsAfter(int userId, LocalDateTime now, LocalDateTime start, int id,
+                                                 Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + " and b.end < :now " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findBookerPastBookingsAfter(int userId, LocalDateTime now, LocalDateTime start, int id,
+                                              Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + " and b.start > :now " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findBookerFutureBookingsAfter(int userId, LocalDateTime now, LocalDateTime start, int id,
+                                                Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_BOOKER + " and b.status = :status " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findBookerBookingsByStatusAfter(int userId, BookingStatus status, LocalDateTime start, int id,
+                                                  Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findOwnerBookingsAfter(int userId, LocalDateTime start, int id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + " and :now between b.start and b.end " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findOwnerCurrentBookingsAfter(int userId, LocalDateTime now, LocalDateTime start, int id,
+                                                Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + " and b.end < :now " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findOwnerPastBookingsAfter(int userId, LocalDateTime now, LocalDateTime start, int id,
+                                             Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + " and b.start > :now " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findOwnerFutureBookingsAfter(int userId, LocalDateTime now, LocalDateTime start, int id,
+                                               Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query(BY_OWNER + " and b.status = :status " + AFTER_CURSOR + CURSOR_ORDER)
+    List<Booking> findOwnerBookingsByStatusAfter(int userId, BookingStatus status, LocalDateTime start, int id,
+                                                 Pageable pageable);
+
+    long countByBookerId(int bookerId);
+
+    @Query(" select count(b) from Booking as b " +
+            " where b.booker.id = :bookerId " +
+            " and :now between b.start and b.end ")
+    long countByBookerIdAndCurrent(int bookerId, LocalDateTime now);
+
+    long countByBookerIdAndEndBefore(int bookerId, LocalDateTime now);
+
+    long countByBookerIdAndStartAfter(int bookerId, LocalDateTime now);
+
+    long countByBookerIdAndStatus(int bookerId, BookingStatus status);
+
+    long countByItemOwnerId(int ownerId);
+
+    @Query(" select count(b) from Booking as b " +
+            " where b.item.owner.id = :ownerId " +
+            " and :now between b.start and b.end ")
+    long countByItemOwnerIdAndCurrent(int ownerId, LocalDateTime now);
+
+    long countByItemOwnerIdAndEndBefore(int ownerId, LocalDateTime now);
+
+    long countByItemOwnerIdAndStartAfter(int ownerId, LocalDateTime now);
+
+    long countByItemOwnerIdAndStatus(int ownerId, BookingStatus status);
 
     @Query(nativeQuery = true, value =
             " select b.* from bookings as b " +
@@ -83,4 +180,8 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
                     " and b.status = 'APPROVED' " +
                     " limit 1 ")
     Optional<Booking> findByItemIdAndBookerId(int itemId, int userId);
+
+    Optional<Booking> findFirstByItemIdAndStartBeforeOrderByStartDesc(int itemId, LocalDateTime now);
+
+    Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAsc(int itemId, LocalDateTime now);
 }
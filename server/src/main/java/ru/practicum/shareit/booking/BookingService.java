@@ -2,6 +2,9 @@ package ru.practicum.shareit.booking;
 
 import java.util.List;
 
+import ru.practicum.shareit.pageable.CountDto;
+import ru.practicum.shareit.pageable.KeysetCursor;
+
 public interface BookingService {
 
     BookingResponseDto addBooking(BookingRequestDto bookingDto, int userId);
@@ -13,4 +16,13 @@ public interface BookingService {
     List<BookingResponseDto> findUserBookings(int userId, BookingState state, int from, int size);
 
     List<BookingResponseDto> findOwnerItemsBookings(int userId, BookingState state, int from, int size);
+
+    CountDto countUserBookings(int userId, BookingState state);
+
+    CountDto countOwnerItemsBookings(int userId, BookingState state);
+
+    List<BookingResponseDto> findUserBookingsAfter(int userId, BookingState state, KeysetCursor after, int size);
+
+    List<BookingResponseDto> findOwnerItemsBookingsAfter(int userId, BookingState state, KeysetCursor after,
+                                                         int size);
 }
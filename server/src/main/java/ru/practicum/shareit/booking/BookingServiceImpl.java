@@ -2,17 +2,23 @@ package ru.practicum.shareit.booking;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.error_handler.ShareitInvalidArgumentException;
 import ru.practicum.shareit.error_handler.ShareitNotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.logging.LogPayload;
+import ru.practicum.shareit.pageable.CountDto;
+import ru.practicum.shareit.pageable.KeysetCursor;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserNotFoundException;
@@ -27,12 +33,14 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper mapper;
+    private final ItemBookingSummaryService summaryService;
 
     @Override
+    @Transactional
     public BookingResponseDto addBooking(BookingRequestDto bookingRequestDto, int userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
         int itemId = bookingRequestDto.getItemId();
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException(itemId));
+        Item item = itemRepository.findLockedById(itemId).orElseThrow(() -> new ItemNotFoundException(itemId));
         if (item.getOwner().getId() == userId) {
             throw new ShareitNotFoundException("Владелец вещи не может ее забронировать");
         }
@@ -41,11 +49,13 @@ public class BookingServiceImpl implements BookingService {
         }
         Booking booking = mapper.toBooking(bookingRequestDto, item, user, BookingStatus.WAITING);
         BookingResponseDto saved = mapper.toBookingResponseDto(bookingRepository.save(booking));
-        log.info("Пользователь [{}] добавил новое бронирование: {}", userId, saved);
+        summaryService.refresh(itemId);
+        log.info("Пользователь [{}] добавил новое бронирование: {}", userId, LogPayload.of(saved));
         return saved;
     }
 
     @Override
+    @Transactional
     public BookingResponseDto approveOrRejectBooking(int bookingId, int userId, boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
@@ -62,7 +72,7 @@ public class BookingServiceImpl implements BookingService {
         BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
         booking.setStatus(status);
         BookingResponseDto updated = mapper.toBookingResponseDto(bookingRepository.save(booking));
-        log.info("Обновлен статус бронирования [{}] : {}", bookingId, updated);
+        log.info("Обновлен статус бронирования [{}] : {}", bookingId, LogPayload.of(updated));
         return updated;
     }
 
@@ -71,20 +81,20 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findByBookingIdAndUserId(bookingId, userId)
                 .orElseThrow(() -> new BookingNotFoundException(bookingId));
         BookingResponseDto bookingResponseDto = mapper.toBookingResponseDto(booking);
-        log.info("Вернули бронирование: {}", bookingResponseDto);
+        log.info("Вернули бронирование: {}", LogPayload.of(bookingResponseDto));
         return bookingResponseDto;
     }
 
     @Override
     public List<BookingResponseDto> findUserBookings(int userId, BookingState state, int from, int size) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        Page<Booking> bookings = doFindUserBookings(userId, state, from, size);
+        Slice<Booking> bookings = doFindUserBookings(userId, state, from, size);
         List<BookingResponseDto> bookingResponseDtos = bookings.map(mapper::toBookingResponseDto).getContent();
-        log.info("Вернули бронирования пользователя [{}] : {}", userId, bookingResponseDtos);
+        log.info("Вернули бронирования пользователя [{}] : {}", userId, LogPayload.of(bookingResponseDtos));
         return bookingResponseDtos;
     }
 
-    private Page<Booking> doFindUserBookings(int userId, BookingState state, int from, int size) {
+    private Slice<Booking> doFindUserBookings(int userId, BookingState state, int from, int size) {
         switch (state) {
             case ALL:
                 return bookingRepository.findAllByBookerIdOrderByStartDesc(userId, new OffsetPageRequest(from, size,
@@ -114,13 +124,13 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingResponseDto> findOwnerItemsBookings(int userId, BookingState state, int from, int size) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        Page<Booking> bookings = doFindOwnerItemsBookings(userId, state, from, size);
+        Slice<Booking> bookings = doFindOwnerItemsBookings(userId, state, from, size);
         List<BookingResponseDto> bookingResponseDtos = bookings.map(mapper::toBookingResponseDto).getContent();
-        log.info("Вернули бронирования вещей пользователя [{}] : {}", userId, bookingResponseDtos);
+        log.info("Вернули бронирования вещей пользователя [{}] : {}", userId, LogPayload.of(bookingResponseDtos));
         return bookingResponseDtos;
     }
 
-    private Page<Booking> doFindOwnerItemsBookings(int userId, BookingState state, int from, int size) {
+    private Slice<Booking> doFindOwnerItemsBookings(int userId, BookingState state, int from, int size) {
         switch (state) {
             case ALL:
                 return bookingRepository.findAllByOwnerItemsOrderByStartDesc(userId, new OffsetPageRequest(from, size,
@@ -144,4 +154,129 @@ public class BookingServiceImpl implements BookingService {
                 throw new IllegalArgumentException();
         }
     }
+
+    @Override
+    public CountDto countUserBookings(int userId, BookingState state) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        CountDto count = new CountDto(doCountUserBookings(userId, state));
+        log.info("Посчитали бронирования пользователя [{}] в состоянии {} : {}", userId, state, count.getCount());
+        return count;
+    }
+
+    private long doCountUserBookings(int userId, BookingState state) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.countByBookerId(userId);
+            case CURRENT:
+                return bookingRepository.countByBookerIdAndCurrent(userId, LocalDateTime.now());
+            case PAST:
+                return bookingRepository.countByBookerIdAndEndBefore(userId, LocalDateTime.now());
+            case FUTURE:
+                return bookingRepository.countByBookerIdAndStartAfter(userId, LocalDateTime.now());
+            case WAITING:
+                return bookingRepository.countByBookerIdAndStatus(userId, BookingStatus.WAITING);
+            case REJECTED:
+                return bookingRepository.countByBookerIdAndStatus(userId, BookingStatus.REJECTED);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public CountDto countOwnerItemsBookings(int userId, BookingState state) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        CountDto count = new CountDto(doCountOwnerItemsBookings(userId, state));
+        log.info("Посчитали бронирования вещей пользователя [{}] в состоянии {} : {}", userId, state,
+                count.getCount());
+        return count;
+    }
+
+    private long doCountOwnerItemsBookings(int userId, BookingState state) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.countByItemOwnerId(userId);
+            case CURRENT:
+                return bookingRepository.countByItemOwnerIdAndCurrent(userId, LocalDateTime.now());
+            case PAST:
+                return bookingRepository.countByItemOwnerIdAndEndBefore(userId, LocalDateTime.now());
+            case FUTURE:
+                return bookingRepository.countByItemOwnerIdAndStartAfter(userId, LocalDateTime.now());
+            case WAITING:
+                return bookingRepository.countByItemOwnerIdAndStatus(userId, BookingStatus.WAITING);
+            case REJECTED:
+                return bookingRepository.countByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public List<BookingResponseDto> findUserBookingsAfter(int userId, BookingState state, KeysetCursor after,
+                                                          int size) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        List<BookingResponseDto> bookingResponseDtos = doFindUserBookingsAfter(userId, state, after.descendingKey(),
+                after.descendingId(), new OffsetPageRequest(0, size)).stream()
+                .map(mapper::toBookingResponseDto)
+                .collect(Collectors.toList());
+        log.info("Вернули бронирования пользователя [{}] после [{}] : {}", userId, after.getId(),
+                LogPayload.of(bookingResponseDtos));
+        return bookingResponseDtos;
+    }
+
+    private List<Booking> doFindUserBookingsAfter(int userId, BookingState state, LocalDateTime start, int id,
+                                                  Pageable limit) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.findBookerBookingsAfter(userId, start, id, limit);
+            case CURRENT:
+                return bookingRepository.findBookerCurrentBookingsAfter(userId, LocalDateTime.now(), start, id, limit);
+            case PAST:
+                return bookingRepository.findBookerPastBookingsAfter(userId, LocalDateTime.now(), start, id, limit);
+            case FUTURE:
+                return bookingRepository.findBookerFutureBookingsAfter(userId, LocalDateTime.now(), start, id, limit);
+            case WAITING:
+                return bookingRepository.findBookerBookingsByStatusAfter(userId, BookingStatus.WAITING, start, id,
+                        limit);
+            case REJECTED:
+                return bookingRepository.findBookerBookingsByStatusAfter(userId, BookingStatus.REJECTED, start, id,
+                        limit);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public List<BookingResponseDto> findOwnerItemsBookingsAfter(int userId, BookingState state, KeysetCursor after,
+                                                                int size) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        List<BookingResponseDto> bookingResponseDtos = doFindOwnerItemsBookingsAfter(userId, state,
+                after.descendingKey(), after.descendingId(), new OffsetPageRequest(0, size)).stream()
+                .map(mapper::toBookingResponseDto)
+                .collect(Collectors.toList());
+        log.info("Вернули бронирования вещей пользователя [{}] после [{}] : {}", userId, after.getId(),
+                LogPayload.of(bookingResponseDtos));
+        return bookingResponseDtos;
+    }
+
+    private List<Booking> doFindOwnerItemsBookingsAfter(int userId, BookingState state, LocalDateTime start, int id,
+                                                        Pageable limit) {
+        switch (state) {
+            case ALL:
+                return bookingRepository.findOwnerBookingsAfter(userId, start, id, limit);
+            case CURRENT:
+                return bookingRepository.findOwnerCurrentBookingsAfter(userId, LocalDateTime.now(), start, id, limit);
+            case PAST:
+                return bookingRepository.findOwnerPastBookingsAfter(userId, LocalDateTime.now(), start, id, limit);
+            case FUTURE:
+                return bookingRepository.findOwnerFutureBookingsAfter(userId, LocalDateTime.now(), start, id, limit);
+            case WAITING:
+                return bookingRepository.findOwnerBookingsByStatusAfter(userId, BookingStatus.WAITING, start, id,
+                        limit);
+            case REJECTED:
+                return bookingRepository.findOwnerBookingsByStatusAfter(userId, BookingStatus.REJECTED, start, id,
+                        limit);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
 }
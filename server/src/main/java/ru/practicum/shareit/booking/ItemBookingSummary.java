@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Последнее и следующее бронирование вещи, как в списке вещей владельца: статус бронирования не учитывается.
+ * Запись устаревает, когда наступает next_start: следующее бронирование становится последним.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@ToString
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private int itemId;
+
+    @Column(name = "last_booking_id")
+    private Integer lastBookingId;
+
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+
+    @Column(name = "next_booking_id")
+    private Integer nextBookingId;
+
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+
+    @Column(name = "refreshed", nullable = false)
+    private LocalDateTime refreshed;
+}
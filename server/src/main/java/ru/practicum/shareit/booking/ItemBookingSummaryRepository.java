@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Integer> {
+
+    /**
+     * Вещи без записи в item_booking_summary или с наступившим следующим бронированием.
+     */
+    @Query(nativeQuery = true, value = "" +
+            " select i.id from items as i " +
+            " left join item_booking_summary as s on s.item_id = i.id " +
+            " where s.item_id is null or s.next_start <= :now ")
+    List<Integer> findStaleItemIds(LocalDateTime now, Pageable pageable);
+}
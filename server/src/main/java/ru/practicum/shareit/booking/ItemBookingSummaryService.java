@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+
+/**
+ * Поддерживает item_booking_summary: запись вещи пересчитывается в транзакции добавления бронирования, а
+ * устаревшие и недостающие записи - по расписанию. Чтение списка вещей владельца ничего не пересчитывает.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingSummaryService {
+
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Пересчитывает запись вещи в транзакции, которая уже заблокировала строку вещи до вставки бронирования:
+     * если блокировать после вставки, проверка внешнего ключа и блокировка строки у двух параллельных
+     * бронирований одной вещи ждут друг друга.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(int itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = bookingRepository.findFirstByItemIdAndStartBeforeOrderByStartDesc(itemId, now)
+                .orElse(null);
+        Booking next = bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAsc(itemId, now).orElse(null);
+        summaryRepository.save(new ItemBookingSummary(itemId,
+                last == null ? null : last.getId(), last == null ? null : last.getStart(),
+                next == null ? null : next.getId(), next == null ? null : next.getStart(), now));
+    }
+
+    /**
+     * @return false, если вещь удалена до пересчета
+     */
+    private boolean refreshLocked(int itemId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                itemRepository.findLockedById(itemId).orElseThrow(() -> new ItemNotFoundException(itemId));
+                refresh(itemId);
+            });
+            return true;
+        } catch (ItemNotFoundException e) {
+            log.warn("Не пересчитали бронирования вещи {}: {}", itemId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Ошибка одной вещи не прерывает пересчет остальных; пакет, в котором не удалось пересчитать ни одной вещи,
+     * завершает проход, чтобы не выбирать те же вещи снова.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.refresh-interval:PT1M}")
+    public void refreshStale() {
+        int refreshed = 0;
+        int batchRefreshed;
+        List<Integer> itemIds;
+        do {
+            itemIds = summaryRepository.findStaleItemIds(LocalDateTime.now(), PageRequest.of(0, REFRESH_BATCH_SIZE));
+            batchRefreshed = (int) itemIds.stream().filter(this::refreshLocked).count();
+            refreshed += batchRefreshed;
+        } while (itemIds.size() == REFRESH_BATCH_SIZE && batchRefreshed > 0);
+        if (refreshed > 0) {
+            log.info("Пересчитали последнее и следующее бронирование {} вещей", refreshed);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.deadline;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.error_handler.ShareitException;
+
+/**
+ * Запрос, срок которого истек до начала обработки, отклоняется с 504: gateway его ответ уже не ждет.
+ */
+@Slf4j
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    private final Counter rejected;
+
+    public DeadlineInterceptor(MeterRegistry registry) {
+        this.rejected = Counter.builder("server.deadline.rejected")
+                .description("Запросы, срок которых истек до начала обработки")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header == null) {
+            return true;
+        }
+        long timeout;
+        try {
+            timeout = Long.parseLong(header);
+        } catch (NumberFormatException e) {
+            log.debug("Некорректный заголовок {}: {}", RequestDeadline.HEADER, header);
+            return true;
+        }
+        if (timeout <= 0) {
+            rejected.increment();
+            throw new ShareitException(HttpStatus.GATEWAY_TIMEOUT, "Срок запроса истек до начала обработки");
+        }
+        RequestDeadline.start(timeout);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestDeadline.clear();
+    }
+}
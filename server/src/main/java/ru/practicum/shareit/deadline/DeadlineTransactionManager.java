@@ -0,0 +1,26 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Таймаут транзакции не больше оставшегося срока запроса. Hibernate переносит его в таймаут JDBC-запросов,
+ * поэтому запрос к БД отменяется, когда gateway перестает ждать ответ.
+ */
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        Long remaining = RequestDeadline.remainingMillis();
+        if (remaining == null) {
+            return timeout;
+        }
+        if (remaining <= 0) {
+            throw new TransactionTimedOutException("Срок запроса истек");
+        }
+        int seconds = (int) Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? seconds : Math.min(timeout, seconds);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Срок, до которого gateway ждет ответ на текущий запрос. Заголовок {@value #HEADER} содержит оставшееся время
+ * в миллисекундах, срок отсчитывается по часам server от получения запроса, поэтому расхождение часов
+ * gateway и server на него не влияет.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Timeout";
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long timeoutMillis) {
+        DEADLINE.set(System.nanoTime() + timeoutMillis * NANOS_PER_MILLI);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Сколько миллисекунд осталось до срока; null, если запрос пришел без срока.
+     */
+    @Nullable
+    public static Long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        return deadline != null ? (deadline - System.nanoTime()) / NANOS_PER_MILLI : null;
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import ru.practicum.shareit.error_handler.ErrorResponse;
+import ru.practicum.shareit.error_handler.ShareitException;
+
+/**
+ * Повтор POST-запроса с тем же Idempotency-Key и X-Sharer-User-Id не выполняется заново: клиент получает
+ * сохраненный ответ на первый запрос с заголовком {@value #REPLAYED_HEADER}. Ответы 5xx не сохраняются.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final IdempotencyService service;
+    private final List<String> paths;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService service, List<String> paths, ObjectMapper objectMapper) {
+        this.service = service;
+        this.paths = paths;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || userId(request) == null) {
+            return true;
+        }
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        return paths.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        IdempotencyKeyId id = new IdempotencyKeyId(userId(request), request.getHeader(IDEMPOTENCY_KEY_HEADER));
+        byte[] body = request.getInputStream().readAllBytes();
+        String path = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        Optional<IdempotencyKey> saved;
+        try {
+            saved = service.begin(id, request.getMethod(), path, sha256(body));
+        } catch (ShareitException e) {
+            response.setStatus(e.getStatus().value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(e.getMessage()));
+            return;
+        }
+        if (saved.isPresent()) {
+            replay(saved.get(), response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            service.abandon(id);
+            throw e;
+        }
+        if (cachingResponse.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            service.complete(id, cachingResponse.getStatus(), cachingResponse.getContentType(),
+                    cachingResponse.getContentAsByteArray());
+        } else {
+            service.abandon(id);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private static void replay(IdempotencyKey saved, HttpServletResponse response) throws IOException {
+        response.setStatus(saved.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (saved.getContentType() != null) {
+            response.setContentType(saved.getContentType());
+        }
+        if (saved.getBody() != null) {
+            response.setContentLength(saved.getBody().length);
+            response.getOutputStream().write(saved.getBody());
+        }
+    }
+
+    private static Integer userId(HttpServletRequest request) {
+        try {
+            return Integer.valueOf(request.getHeader(USER_ID_HEADER));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Тело запроса уже прочитано для хеша, контроллер читает его из буфера.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * Тело уже прочитано целиком, поэтому слушатель сразу получает и данные, и их окончание.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
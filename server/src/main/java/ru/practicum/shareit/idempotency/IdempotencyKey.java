@@ -0,0 +1,70 @@
+package ru.practicum.shareit.idempotency;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Запрос с заголовком Idempotency-Key и сохраненный ответ на него. Пока запрос выполняется, status равен null.
+ * Новая запись всегда вставляется, а не сливается с существующей, поэтому повторный ключ нарушает первичный ключ.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@NoArgsConstructor
+@Getter
+@ToString(exclude = "body")
+public class IdempotencyKey implements Persistable<IdempotencyKeyId> {
+    @EmbeddedId
+    private IdempotencyKeyId id;
+
+    private String method;
+
+    private String path;
+
+    private String requestHash;
+
+    private Integer status;
+
+    private String contentType;
+
+    private byte[] body;
+
+    private LocalDateTime created;
+
+    @Transient
+    private boolean persisted;
+
+    public IdempotencyKey(IdempotencyKeyId id, String method, String path, String requestHash,
+                          LocalDateTime created) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+        this.requestHash = requestHash;
+        this.created = created;
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
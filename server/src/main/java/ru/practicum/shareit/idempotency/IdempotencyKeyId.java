@@ -0,0 +1,26 @@
+package ru.practicum.shareit.idempotency;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public class IdempotencyKeyId implements Serializable {
+    @Column(name = "user_id")
+    private int userId;
+
+    @Column(name = "idempotency_key")
+    private String key;
+}
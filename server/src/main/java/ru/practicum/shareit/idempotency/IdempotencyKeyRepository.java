@@ -0,0 +1,32 @@
+package ru.practicum.shareit.idempotency;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    @Modifying
+    @Transactional
+    @Query(" update IdempotencyKey as k " +
+            " set k.status = :status, k.contentType = :contentType, k.body = :body " +
+            " where k.id = :id ")
+    void complete(IdempotencyKeyId id, int status, String contentType, byte[] body);
+
+    /**
+     * Переписывает незавершенный ключ на новый запрос, если его еще не занял другой повтор.
+     */
+    @Modifying
+    @Transactional
+    @Query(" update IdempotencyKey as k set k.created = :now " +
+            " where k.id = :id and k.status is null and k.created = :created ")
+    int takeOver(IdempotencyKeyId id, LocalDateTime created, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(" delete from IdempotencyKey as k where k.created < :before ")
+    int deleteAllCreatedBefore(LocalDateTime before);
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.idempotency;
+
+import java.time.Duration;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "shareit.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+    /**
+     * POST-запросы, для которых учитывается Idempotency-Key.
+     */
+    private List<String> paths = List.of("/bookings", "/items", "/items/*/comment");
+    /**
+     * Сколько хранится ответ; повтор с тем же ключом позже выполняется как новый запрос.
+     */
+    private Duration ttl = Duration.ofHours(24);
+    /**
+     * Сколько повтор ждет завершения первого запроса с тем же ключом, прежде чем получить 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    /**
+     * Сколько ключ принадлежит незавершенному запросу; не меньше срока запроса от gateway (shareit-server.timeout.read),
+     * иначе повтор выполнится параллельно с еще живым первым запросом.
+     */
+    private Duration lease = Duration.ofSeconds(30);
+    private Duration pollInterval = Duration.ofMillis(50);
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import ru.practicum.shareit.error_handler.ShareitException;
+
+@Slf4j
+public class IdempotencyService {
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyService(IdempotencyKeyRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * Занимает ключ для нового запроса и возвращает пустой Optional. Если запрос с этим ключом уже выполнен,
+     * возвращает сохраненный ответ; если еще выполняется, ждет его завершения не дольше wait-timeout.
+     * Незавершенный запрос старше lease считается потерянным (server остановился, не сняв ключ),
+     * и ключ переходит к повтору.
+     */
+    public Optional<IdempotencyKey> begin(IdempotencyKeyId id, String method, String path, String requestHash) {
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            try {
+                repository.saveAndFlush(new IdempotencyKey(id, method, path, requestHash, LocalDateTime.now()));
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Idempotency-Key {} уже использован", id);
+            }
+            Optional<IdempotencyKey> existing = repository.findById(id);
+            if (existing.isPresent()) {
+                IdempotencyKey key = existing.get();
+                if (!key.getMethod().equals(method) || !key.getPath().equals(path)
+                        || !key.getRequestHash().equals(requestHash)) {
+                    throw new ShareitException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key " + id.getKey() + " уже использован для другого запроса");
+                }
+                if (key.isCompleted()) {
+                    return existing;
+                }
+                if (key.getCreated().isBefore(LocalDateTime.now().minus(properties.getLease()))
+                        && repository.takeOver(id, key.getCreated(), LocalDateTime.now()) == 1) {
+                    log.warn("Idempotency-Key {} не завершен за {}, запрос выполняется заново", id,
+                            properties.getLease());
+                    return Optional.empty();
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new ShareitException(HttpStatus.CONFLICT,
+                        "Запрос с Idempotency-Key " + id.getKey() + " еще выполняется");
+            }
+            pause();
+        }
+    }
+
+    public void complete(IdempotencyKeyId id, int status, String contentType, byte[] body) {
+        repository.complete(id, status, contentType, body);
+    }
+
+    /**
+     * Освобождает ключ после ошибки server, чтобы повтор выполнился заново.
+     */
+    public void abandon(IdempotencyKeyId id) {
+        try {
+            repository.deleteById(id);
+        } catch (EmptyResultDataAccessException e) {
+            log.debug("Idempotency-Key {} уже удален", id);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.idempotency.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        int deleted = repository.deleteAllCreatedBefore(LocalDateTime.now().minus(properties.getTtl()));
+        if (deleted > 0) {
+            log.info("Удалено {} просроченных Idempotency-Key", deleted);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getPollInterval().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ShareitException(HttpStatus.SERVICE_UNAVAILABLE, "Ожидание запроса прервано");
+        }
+    }
+}
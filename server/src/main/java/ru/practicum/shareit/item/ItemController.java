@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.pageable.CountDto;
+import ru.practicum.shareit.pageable.KeysetCursor;
 
 @RequiredArgsConstructor
 @RestController
@@ -44,11 +48,28 @@ public class ItemController {
         return itemService.findOwnerItems(userId, from, size);
     }
 
+    @GetMapping("/count")
+    public CountDto countOwnerItems(@RequestHeader("X-Sharer-User-Id") int userId) {
+        return itemService.countOwnerItems(userId);
+    }
+
     @GetMapping("/search")
     public List<ItemDto> findItems(@RequestParam(defaultValue = "") String text,
-                                   @RequestParam int from,
-                                   @RequestParam int size) {
-        return itemService.findItems(text, from, size);
+                                   @RequestParam(defaultValue = "0") int from,
+                                   @RequestParam(required = false) String after,
+                                   @RequestParam int size,
+                                   HttpServletResponse response) {
+        if (after == null) {
+            return itemService.findItems(text, from, size);
+        }
+        List<ItemDto> items = itemService.findItemsAfter(text, KeysetCursor.decode(after), size);
+        KeysetCursor.setNext(response, items, size, item -> new KeysetCursor(null, item.getId()));
+        return items;
+    }
+
+    @GetMapping("/search/count")
+    public CountDto countItems(@RequestParam(defaultValue = "") String text) {
+        return itemService.countItems(text);
     }
 
     @PostMapping("/{itemId}/comment")
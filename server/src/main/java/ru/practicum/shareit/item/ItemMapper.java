@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.BookingForItemDto;
+import ru.practicum.shareit.item.ItemRepository.ItemDetails;
 import ru.practicum.shareit.item.ItemRepository.ItemWithBooking;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
@@ -93,17 +94,27 @@ public class ItemMapper {
         return itemWithBookingsDto;
     }
 
-    public ItemWithBookingAndCommentsDto toItemWithBookingAndCommentsDto(ItemWithBooking itemWithBooking,
-                                                                         BookingForItemDto last, BookingForItemDto next,
+    public ItemWithBookingAndCommentsDto toItemWithBookingAndCommentsDto(ItemDetails item, boolean withBookings,
                                                                          List<CommentDto> comments) {
-        return new ItemWithBookingAndCommentsDto(itemWithBooking.getId(),
-                itemWithBooking.getName(),
-                itemWithBooking.getDescription(),
-                itemWithBooking.isAvailable(),
-                itemWithBooking.getRequest(),
+        BookingForItemDto last = null;
+        BookingForItemDto next = null;
+        if (withBookings && item.getLastBookingId() != null) {
+            last = new BookingForItemDto(item.getLastBookingId(), item.getLastBookingStart(),
+                    item.getLastBookingEnd(), item.getId(), item.getLastBookingBookerId(),
+                    item.getLastBookingStatus());
+        }
+        if (withBookings && item.getNextBookingId() != null) {
+            next = new BookingForItemDto(item.getNextBookingId(), item.getNextBookingStart(),
+                    item.getNextBookingEnd(), item.getId(), item.getNextBookingBookerId(),
+                    item.getNextBookingStatus());
+        }
+        return new ItemWithBookingAndCommentsDto(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.isAvailable(),
+                item.getRequest(),
                 last,
                 next,
                 comments);
     }
-
 }
@@ -2,23 +2,84 @@ package ru.practicum.shareit.item;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.BookingStatus;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
+    /**
+     * Условия совпадают с частичными GIN-индексами pg_trgm из schema-trgm.sql.
+     */
+    String LIKE_PATTERN = " from items as i " +
+            " where ( upper(i.name) like upper(:pattern) escape '\\' " +
+            " or upper(i.description) like upper(:pattern) escape '\\' ) " +
+            " and i.is_available = true ";
+
+    String STALE_SUMMARY = " ( s.item_id is null or s.next_start <= :now ) ";
+    String LAST_BOOKING = " from bookings as b where b.item_id = i.id and b.start_date < :now " +
+            " order by b.start_date desc limit 1 ";
+    String NEXT_BOOKING = " from bookings as b where b.item_id = i.id and b.start_date > :now " +
+            " order by b.start_date asc limit 1 ";
+
     List<Item> findAllByOwnerId(int ownerId);
 
+    List<Item> findAllByIdGreaterThanOrderById(int id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(" select i from Item as i where i.id = :id ")
+    Optional<Item> findLockedById(int id);
+
+    long countByOwnerId(int ownerId);
+
+    /**
+     * text передается через {@link ItemSearch#escapeLike}: '%' и '_' ищутся как обычные символы.
+     */
     @Query(" select i from Item i " +
-            " where ( upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%')) ) " +
+            " where ( upper(i.name) like upper(concat('%', ?1, '%')) escape '\\' " +
+            " or upper(i.description) like upper(concat('%', ?1, '%')) escape '\\' ) " +
+            " and i.available = true " +
+            " order by i.id ")
+    Slice<Item> findAllByText(String text, Pageable pageable);
+
+    @Query(" select count(i) from Item i " +
+            " where ( upper(i.name) like upper(concat('%', ?1, '%')) escape '\\' " +
+            " or upper(i.description) like upper(concat('%', ?1, '%')) escape '\\' ) " +
             " and i.available = true ")
-    Page<Item> findAllByText(String text, Pageable pageable);
+    long countAllByText(String text);
 
+    @Query(" select i from Item i " +
+            " where ( upper(i.name) like upper(concat('%', :text, '%')) escape '\\' " +
+            " or upper(i.description) like upper(concat('%', :text, '%')) escape '\\' ) " +
+            " and i.available = true " +
+            " and i.id > :id " +
+            " order by i.id ")
+    List<Item> findAllByTextAfter(String text, int id, Pageable pageable);
+
+    @Query(nativeQuery = true, value = " select * " + LIKE_PATTERN + " order by i.id ")
+    Slice<Item> findAllByLikePattern(String pattern, Pageable pageable);
+
+    @Query(nativeQuery = true, value = " select * " + LIKE_PATTERN + " and i.id > :id order by i.id ")
+    List<Item> findAllByLikePatternAfter(String pattern, int id, Pageable pageable);
+
+    @Query(nativeQuery = true, value = " select count(*) " + LIKE_PATTERN)
+    long countByLikePattern(String pattern);
+
+    /**
+     * Вещи владельца с бронированиями из item_booking_summary, первыми - с более ранним последним бронированием.
+     * Для вещей без записи или с наступившим следующим бронированием, которые еще не пересчитаны по расписанию,
+     * бронирования выбираются из bookings: запрос ничего не записывает. Сортировка - только по s.last_start
+     * (индекс item_booking_summary_last_start_idx): такие вещи до пересчета стоят по прежнему last_start,
+     * а вещи без записи - в конце.
+     */
     @Query(nativeQuery = true, value = "" +
             " select i.id, " +
             "        i.name, " +
@@ -26,42 +87,54 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
             "        i.is_available as available, " +
             "        i.owner_id as ownerId, " +
             "        i.request_id as requestId, " +
-            " ( select b.id from bookings as b " +
-            " where b.item_id = i.id " +
-            " and b.start_date < :now " +
-            " order by b.start_date desc " +
-            " limit 1 ) as lastBooking, " +
-            " ( select b.id from bookings as b " +
-            " where b.item_id = i.id " +
-            " and b.start_date > :now " +
-            " order by b.start_date asc " +
-            " limit 1 ) as nextBooking " +
+            " case when" + STALE_SUMMARY + "then ( select b.id" + LAST_BOOKING + ") " +
+            " else s.last_booking_id end as lastBooking, " +
+            " case when" + STALE_SUMMARY + "then ( select b.id" + NEXT_BOOKING + ") " +
+            " else s.next_booking_id end as nextBooking " +
             " from items as i " +
-            " where i.owner_id = :ownerId ")
-    Page<ItemWithBooking> findItemsWithBookingsByOwnerId(int ownerId, LocalDateTime now, Pageable pageable);
-
+            " left join item_booking_summary as s on s.item_id = i.id " +
+            " where i.owner_id = :ownerId " +
+            " order by s.last_start asc nulls last, i.id ")
+    Slice<ItemWithBooking> findItemsWithSummaryByOwnerId(int ownerId, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Вещь вместе с последним и следующим неотклоненным бронированием за один запрос: бронирования выбираются
+     * по индексу bookings_item_start_idx и присоединяются к строке вещи.
+     */
     @Query(nativeQuery = true, value = "" +
             " select i.id, " +
             "        i.name, " +
             "        i.description, " +
             "        i.is_available as available, " +
             "        i.owner_id as ownerId, " +
-            "        i.request_id as requestId, " +
+            "        i.request_id as request, " +
+            "        lb.id as lastBookingId, " +
+            "        lb.start_date as lastBookingStart, " +
+            "        lb.end_date as lastBookingEnd, " +
+            "        lb.booker_id as lastBookingBookerId, " +
+            "        lb.status as lastBookingStatus, " +
+            "        nb.id as nextBookingId, " +
+            "        nb.start_date as nextBookingStart, " +
+            "        nb.end_date as nextBookingEnd, " +
+            "        nb.booker_id as nextBookingBookerId, " +
+            "        nb.status as nextBookingStatus " +
+            " from items as i " +
+            " left join bookings as lb on lb.id = " +
             " ( select b.id from bookings as b " +
             " where b.item_id = i.id " +
             " and b.start_date < :now " +
             " and b.status != 'REJECTED' " +
             " order by b.start_date desc " +
-            " limit 1 ) as lastBooking, " +
+            " limit 1 ) " +
+            " left join bookings as nb on nb.id = " +
             " ( select b.id from bookings as b " +
             " where b.item_id = i.id " +
             " and b.start_date > :now " +
             " and b.status != 'REJECTED' " +
             " order by b.start_date asc " +
-            " limit 1 ) as nextBooking " +
-            " from items as i " +
+            " limit 1 ) " +
             " where i.id = :itemId ")
-    ItemWithBooking findItemWithBookingsByItemId(int itemId, LocalDateTime now);
+    Optional<ItemDetails> findItemDetailsById(int itemId, LocalDateTime now);
 
     List<Item> findAllByRequestIdIn(List<Integer> requestIds);
 
@@ -85,4 +158,42 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
         @Nullable
         Integer getNextBooking();
     }
+
+    interface ItemDetails {
+
+        int getId();
+
+        String getName();
+
+        String getDescription();
+
+        boolean isAvailable();
+
+        int getOwnerId();
+
+        @Nullable
+        Integer getRequest();
+
+        @Nullable
+        Integer getLastBookingId();
+
+        LocalDateTime getLastBookingStart();
+
+        LocalDateTime getLastBookingEnd();
+
+        Integer getLastBookingBookerId();
+
+        BookingStatus getLastBookingStatus();
+
+        @Nullable
+        Integer getNextBookingId();
+
+        LocalDateTime getNextBookingStart();
+
+        LocalDateTime getNextBookingEnd();
+
+        Integer getNextBookingBookerId();
+
+        BookingStatus getNextBookingStatus();
+    }
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Поиск доступных вещей по подстроке в названии или описании без учета регистра.
+ */
+public interface ItemSearch {
+
+    Slice<Item> findAvailable(String text, Pageable pageable);
+
+    long countAvailable(String text);
+
+    /**
+     * Первые size вещей с id больше afterId в порядке id.
+     */
+    List<Item> findAvailableAfter(String text, int afterId, int size);
+
+    /**
+     * Вызывается после сохранения вещи, когда изменения уже зафиксированы в базе.
+     */
+    default void itemSaved(Item item) {
+    }
+
+    /**
+     * Экранирует спецсимволы like, чтобы все режимы поиска находили одни и те же вещи.
+     */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(ItemSearchProperties.class)
+public class ItemSearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.item-search", name = "mode", havingValue = "sql", matchIfMissing = true)
+    public ItemSearch sqlItemSearch(ItemRepository itemRepository) {
+        return new SqlItemSearch(itemRepository);
+    }
+
+    /**
+     * Индексы pg_trgm есть только в Postgres; на H2 (профили ci, test) остается like по таблице.
+     * schema-trgm.sql выполняется после schema.sql: таблица items к этому времени создана заново,
+     * а индексы, удаленные вместе с ней, создаются снова.
+     */
+    @Bean
+    @DependsOnDatabaseInitialization
+    @ConditionalOnProperty(prefix = "shareit.item-search", name = "mode", havingValue = "trgm")
+    public ItemSearch trgmItemSearch(ItemRepository itemRepository, DataSource dataSource)
+            throws MetaDataAccessException {
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(database)) {
+            new ResourceDatabasePopulator(new ClassPathResource("schema-trgm.sql")).execute(dataSource);
+            return new TrgmItemSearch(itemRepository);
+        }
+        log.warn("Поиск вещей через pg_trgm недоступен в {}, используется like по таблице", database);
+        return new SqlItemSearch(itemRepository);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "shareit.item-search", name = "mode", havingValue = "index")
+    static class TrigramIndexConfig {
+
+        @Bean
+        public TrigramItemSearch trigramItemSearch(ItemRepository itemRepository, ItemSearchProperties properties) {
+            return new TrigramItemSearch(itemRepository, properties.getRebuildBatchSize());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "shareit.item-search")
+@Getter
+@Setter
+public class ItemSearchProperties {
+
+    private Mode mode = Mode.SQL;
+    /**
+     * Индекс видит только изменения, сделанные через этот экземпляр server;
+     * изменения других экземпляров попадают в него при перестроении.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+    private int rebuildBatchSize = 1000;
+
+    public enum Mode {
+        SQL,
+        INDEX,
+        TRGM
+    }
+}
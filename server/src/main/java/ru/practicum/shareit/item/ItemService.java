@@ -2,6 +2,9 @@ package ru.practicum.shareit.item;
 
 import java.util.List;
 
+import ru.practicum.shareit.pageable.CountDto;
+import ru.practicum.shareit.pageable.KeysetCursor;
+
 public interface ItemService {
 
     ItemDto addItem(ItemDto itemDto, int userId);
@@ -14,5 +17,11 @@ public interface ItemService {
 
     List<ItemDto> findItems(String text, int from, int size);
 
+    List<ItemDto> findItemsAfter(String text, KeysetCursor after, int size);
+
+    CountDto countOwnerItems(int userId);
+
+    CountDto countItems(String text);
+
     CommentDto postComment(int itemId, int userId, CommentDto commentDto);
 }
@@ -2,22 +2,22 @@ package ru.practicum.shareit.item;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingForItemDto;
 import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.BookingNotFoundException;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.error_handler.ShareitInvalidArgumentException;
+import ru.practicum.shareit.logging.LogPayload;
+import ru.practicum.shareit.pageable.CountDto;
+import ru.practicum.shareit.pageable.KeysetCursor;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestNotFoundException;
@@ -28,6 +28,7 @@ import ru.practicum.shareit.user.UserRepository;
 
 import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.ofNullable;
+import static ru.practicum.shareit.item.ItemRepository.ItemDetails;
 import static ru.practicum.shareit.item.ItemRepository.ItemWithBooking;
 
 @Service
@@ -43,6 +44,7 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository itemRequestRepository;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final ItemSearch itemSearch;
 
     @Override
     public ItemDto addItem(ItemDto itemDto, int userId) {
@@ -54,8 +56,9 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new ItemRequestNotFoundException(requestId));
         }
         Item item = itemRepository.save(itemMapper.toItem(itemDto, user, request));
+        itemSearch.itemSaved(item);
         ItemDto added = itemMapper.toItemDto(item);
-        log.info("Пользователь [{}] добавил вещь {}", userId, added);
+        log.info("Пользователь [{}] добавил вещь {}", userId, LogPayload.of(added));
         return added;
     }
 
@@ -66,43 +69,29 @@ public class ItemServiceImpl implements ItemService {
             throw new UserNotFoundException(userId);
         }
         Item itemUpdated = itemRepository.save(itemMapper.toItemWithUpdate(itemDto, item));
+        itemSearch.itemSaved(itemUpdated);
         ItemDto itemDtoUpdated = itemMapper.toItemDto(itemUpdated);
-        log.info("Пользователь [{}] обновил информацию о вещи {}", userId, itemDtoUpdated);
+        log.info("Пользователь [{}] обновил информацию о вещи {}", userId, LogPayload.of(itemDtoUpdated));
         return itemDtoUpdated;
     }
 
     @Override
     public ItemWithBookingAndCommentsDto getItemById(int itemId, int userId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException(itemId));
-        ItemWithBooking itemWithBooking = itemRepository.findItemWithBookingsByItemId(itemId,
-                LocalDateTime.now());
-        BookingForItemDto last = null;
-        BookingForItemDto next = null;
-        if (item.getOwner().getId() == userId) {
-            Integer lastId = itemWithBooking.getLastBooking();
-            Integer nextId = itemWithBooking.getNextBooking();
-            if (lastId != null) {
-                last = bookingMapper.toBookingForItemDto(bookingRepository.findById(lastId)
-                        .orElseThrow(() -> new BookingNotFoundException(lastId)));
-            }
-            if (nextId != null) {
-                next = bookingMapper.toBookingForItemDto(bookingRepository.findById(nextId)
-                        .orElseThrow(() -> new BookingNotFoundException(nextId)));
-            }
-        }
+        ItemDetails item = itemRepository.findItemDetailsById(itemId, LocalDateTime.now())
+                .orElseThrow(() -> new ItemNotFoundException(itemId));
         List<CommentDto> comments = commentRepository.findAllByItemId(itemId).stream()
                 .map(commentMapper::toCommentDto)
                 .collect(Collectors.toList());
         ItemWithBookingAndCommentsDto itemWithBookingAndCommentsDto =
-                itemMapper.toItemWithBookingAndCommentsDto(itemWithBooking, last, next, comments);
-        log.info("Вернули вещь: {}", itemWithBookingAndCommentsDto);
+                itemMapper.toItemWithBookingAndCommentsDto(item, item.getOwnerId() == userId, comments);
+        log.info("Вернули вещь: {}", LogPayload.of(itemWithBookingAndCommentsDto));
         return itemWithBookingAndCommentsDto;
     }
 
     @Override
     public List<ItemWithBookingAndCommentsDto> findOwnerItems(int userId, int from, int size) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        Page<ItemWithBooking> items = itemRepository.findItemsWithBookingsByOwnerId(userId, LocalDateTime.now(),
+        Slice<ItemWithBooking> items = itemRepository.findItemsWithSummaryByOwnerId(userId, LocalDateTime.now(),
                 new OffsetPageRequest(from, size));
         Set<Integer> bookingIds = items.stream()
                 .flatMap(it -> concat(ofNullable(it.getLastBooking()), ofNullable(it.getNextBooking())))
@@ -117,12 +106,8 @@ public class ItemServiceImpl implements ItemService {
                 .map(commentMapper::toCommentDto)
                 .collect(Collectors.toList());
         List<ItemWithBookingAndCommentsDto> itemsWithDate =
-                itemMapper.toItemWithBookingAndCommentsDto(items.getContent(), bookings, comments).stream()
-                        .sorted(Comparator.comparing(item -> Optional.ofNullable(item.getLastBooking())
-                                .map(BookingForItemDto::getStart)
-                                .orElse(null), Comparator.nullsLast(Comparator.naturalOrder())))
-                        .collect(Collectors.toList());
-        log.info("Вернули все вещи пользователя [{}] : {}", userId, itemsWithDate);
+                itemMapper.toItemWithBookingAndCommentsDto(items.getContent(), bookings, comments);
+        log.info("Вернули все вещи пользователя [{}] : {}", userId, LogPayload.of(itemsWithDate));
         return itemsWithDate;
     }
 
@@ -131,12 +116,37 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        Page<Item> items = itemRepository.findAllByText(text, new OffsetPageRequest(from, size));
+        Slice<Item> items = itemSearch.findAvailable(text, new OffsetPageRequest(from, size));
         List<ItemDto> itemsDto = itemMapper.toItemDto(items.getContent());
-        log.info("Вернули все вещи по описанию [{}] : {}", text, itemsDto);
+        log.info("Вернули все вещи по описанию [{}] : {}", text, LogPayload.of(itemsDto));
+        return itemsDto;
+    }
+
+    @Override
+    public List<ItemDto> findItemsAfter(String text, KeysetCursor after, int size) {
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<ItemDto> itemsDto = itemMapper.toItemDto(itemSearch.findAvailableAfter(text, after.getId(), size));
+        log.info("Вернули вещи по описанию [{}] после [{}] : {}", text, after.getId(), LogPayload.of(itemsDto));
         return itemsDto;
     }
 
+    @Override
+    public CountDto countOwnerItems(int userId) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        CountDto count = new CountDto(itemRepository.countByOwnerId(userId));
+        log.info("Посчитали вещи пользователя [{}] : {}", userId, count.getCount());
+        return count;
+    }
+
+    @Override
+    public CountDto countItems(String text) {
+        CountDto count = new CountDto(text.isBlank() ? 0 : itemSearch.countAvailable(text));
+        log.info("Посчитали вещи по описанию [{}] : {}", text, count.getCount());
+        return count;
+    }
+
     @Override
     public CommentDto postComment(int itemId, int userId, CommentDto commentDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
@@ -150,7 +160,7 @@ public class ItemServiceImpl implements ItemService {
         }
         Comment comment = commentMapper.toComment(commentDto, item, user, LocalDateTime.now());
         CommentDto saved = commentMapper.toCommentDto(commentRepository.save(comment));
-        log.info("Добавили комментарий: {}", saved);
+        log.info("Добавили комментарий: {}", LogPayload.of(saved));
         return saved;
     }
 }
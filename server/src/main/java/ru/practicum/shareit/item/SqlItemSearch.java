@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+
+/**
+ * Like по таблице items; '%' и '_' в запросе ищутся как обычные символы, результаты упорядочены по id.
+ */
+@RequiredArgsConstructor
+public class SqlItemSearch implements ItemSearch {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Slice<Item> findAvailable(String text, Pageable pageable) {
+        return itemRepository.findAllByText(ItemSearch.escapeLike(text), pageable);
+    }
+
+    @Override
+    public long countAvailable(String text) {
+        return itemRepository.countAllByText(ItemSearch.escapeLike(text));
+    }
+
+    @Override
+    public List<Item> findAvailableAfter(String text, int afterId, int size) {
+        return itemRepository.findAllByTextAfter(ItemSearch.escapeLike(text), afterId,
+                new OffsetPageRequest(0, size));
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+
+/**
+ * Поиск через GIN-индексы pg_trgm: Postgres находит кандидатов по триграммам шаблона вместо
+ * последовательного чтения items. Запросы короче трех символов триграмм не дают и читают таблицу целиком.
+ * '%' и '_' в запросе экранируются и ищутся как обычные символы, результаты упорядочены по id.
+ */
+@RequiredArgsConstructor
+public class TrgmItemSearch implements ItemSearch {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Slice<Item> findAvailable(String text, Pageable pageable) {
+        return itemRepository.findAllByLikePattern("%" + ItemSearch.escapeLike(text) + "%", pageable);
+    }
+
+    @Override
+    public long countAvailable(String text) {
+        return itemRepository.countByLikePattern("%" + ItemSearch.escapeLike(text) + "%");
+    }
+
+    @Override
+    public List<Item> findAvailableAfter(String text, int afterId, int size) {
+        return itemRepository.findAllByLikePatternAfter("%" + ItemSearch.escapeLike(text) + "%", afterId,
+                new OffsetPageRequest(0, size));
+    }
+}
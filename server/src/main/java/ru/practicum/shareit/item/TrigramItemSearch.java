@@ -0,0 +1,281 @@
+package ru.practicum.shareit.item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Поиск по индексу триграмм названий и описаний доступных вещей в памяти. Кандидаты - вещи, содержащие все
+ * триграммы запроса; каждый кандидат проверяется на вхождение подстроки, поэтому результат совпадает с
+ * {@link SqlItemSearch}: '%' и '_' в запросе ищутся как обычные символы.
+ * Результаты упорядочены по id, из базы загружается только запрошенная страница.
+ * <p>
+ * Индекс строится при создании контекста, до того как server начинает принимать запросы, и перестраивается
+ * каждые shareit.item-search.rebuild-interval; между перестроениями обновляется через {@link #itemSaved}
+ * и по вещам, загруженным для ответа (изменения, сделанные другими экземплярами server).
+ */
+@Slf4j
+public class TrigramItemSearch implements ItemSearch, SmartInitializingSingleton {
+
+    private final ItemRepository itemRepository;
+    private final int rebuildBatchSize;
+    private volatile Index index = new Index();
+    /**
+     * Изменения, сделанные во время перестроения: применяются к новому индексу перед заменой.
+     */
+    private List<Document> savedDuringRebuild;
+
+    public TrigramItemSearch(ItemRepository itemRepository, int rebuildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${shareit.item-search.rebuild-interval:PT10M}",
+            fixedDelayString = "${shareit.item-search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        synchronized (this) {
+            savedDuringRebuild = new ArrayList<>();
+        }
+        Index rebuilt = new Index();
+        Pageable page = PageRequest.of(0, rebuildBatchSize);
+        int lastId = 0;
+        List<Item> items;
+        do {
+            items = itemRepository.findAllByIdGreaterThanOrderById(lastId, page);
+            items.forEach(item -> rebuilt.put(Document.of(item)));
+            if (!items.isEmpty()) {
+                lastId = items.get(items.size() - 1).getId();
+            }
+        } while (items.size() == rebuildBatchSize);
+        synchronized (this) {
+            savedDuringRebuild.forEach(rebuilt::put);
+            savedDuringRebuild = null;
+            index = rebuilt;
+        }
+        log.info("Индекс поиска вещей перестроен: {} доступных вещей", rebuilt.size());
+    }
+
+    @Override
+    public synchronized void itemSaved(Item item) {
+        Document document = Document.of(item);
+        if (savedDuringRebuild != null) {
+            savedDuringRebuild.add(document);
+        }
+        index.put(document);
+    }
+
+    @Override
+    public Slice<Item> findAvailable(String text, Pageable pageable) {
+        String query = text.toUpperCase(Locale.ROOT);
+        while (true) {
+            List<Integer> ids = index.search(query);
+            int from = (int) Math.min(pageable.getOffset(), ids.size());
+            int to = Math.min(from + pageable.getPageSize(), ids.size());
+            List<Item> content = load(query, ids.subList(from, to));
+            if (content != null) {
+                return new SliceImpl<>(content, pageable, to < ids.size());
+            }
+        }
+    }
+
+    @Override
+    public long countAvailable(String text) {
+        return index.search(text.toUpperCase(Locale.ROOT)).size();
+    }
+
+    @Override
+    public List<Item> findAvailableAfter(String text, int afterId, int size) {
+        String query = text.toUpperCase(Locale.ROOT);
+        while (true) {
+            List<Integer> pageIds = index.search(query).stream()
+                    .filter(id -> id > afterId)
+                    .limit(size)
+                    .collect(Collectors.toList());
+            List<Item> content = load(query, pageIds);
+            if (content != null) {
+                return content;
+            }
+        }
+    }
+
+    /**
+     * Вещи в порядке ids или null, если часть из них удалена или изменена в обход сервиса (в том числе другим
+     * экземпляром server) и больше не подходит под запрос: удаленные id убираются из индекса, измененные вещи
+     * индексируются заново, и поиск повторяется, чтобы не сдвинуть страницы.
+     */
+    private List<Item> load(String query, List<Integer> ids) {
+        Map<Integer, Item> found = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> changed = found.values().stream()
+                .filter(item -> !item.isAvailable() || !Document.of(item).contains(query))
+                .collect(Collectors.toList());
+        if (found.size() == ids.size() && changed.isEmpty()) {
+            return ids.stream()
+                    .map(found::get)
+                    .collect(Collectors.toList());
+        }
+        ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .forEach(index::remove);
+        changed.forEach(this::itemSaved);
+        return null;
+    }
+
+    private static final class Document {
+        private final int id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private Document(int id, String name, String description, boolean available) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.available = available;
+        }
+
+        static Document of(Item item) {
+            return new Document(item.getId(), normalize(item.getName()), normalize(item.getDescription()),
+                    item.isAvailable());
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.toUpperCase(Locale.ROOT);
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<Long> trigrams() {
+            Set<Long> trigrams = new HashSet<>();
+            addTrigrams(name, trigrams);
+            addTrigrams(description, trigrams);
+            return trigrams;
+        }
+    }
+
+    /**
+     * Триграмма упакована в long: три символа по 16 бит.
+     */
+    private static void addTrigrams(String value, Set<Long> trigrams) {
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            trigrams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+    }
+
+    /**
+     * Документы и списки вхождений только доступных вещей.
+     */
+    private static final class Index {
+        private final Map<Integer, Document> documents = new HashMap<>();
+        private final Map<Long, Set<Integer>> postings = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void put(Document document) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(document.id);
+                if (!document.available) {
+                    return;
+                }
+                documents.put(document.id, document);
+                for (Long trigram : document.trigrams()) {
+                    postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(document.id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(int id) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(int id) {
+            Document old = documents.remove(id);
+            if (old == null) {
+                return;
+            }
+            for (Long trigram : old.trigrams()) {
+                Set<Integer> ids = postings.get(trigram);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documents.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * id подходящих вещей по возрастанию.
+         */
+        List<Integer> search(String query) {
+            lock.readLock().lock();
+            try {
+                return candidates(query).stream()
+                        .filter(id -> documents.get(id).contains(query))
+                        .sorted()
+                        .collect(Collectors.toList());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Collection<Integer> candidates(String query) {
+            Set<Long> trigrams = new HashSet<>();
+            addTrigrams(query, trigrams);
+            if (trigrams.isEmpty()) {
+                return documents.keySet();
+            }
+            List<Set<Integer>> lists = new ArrayList<>();
+            for (Long trigram : trigrams) {
+                Set<Integer> ids = postings.get(trigram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(ids);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            return lists.get(0).stream()
+                    .filter(id -> lists.stream().skip(1).allMatch(ids -> ids.contains(id)))
+                    .collect(Collectors.toList());
+        }
+    }
+}
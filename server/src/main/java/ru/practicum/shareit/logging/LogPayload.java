@@ -0,0 +1,121 @@
+package ru.practicum.shareit.logging;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+/**
+ * Аргумент лога вместо DTO или списка DTO: по умолчанию выводятся количество и id, полностью объект выводится
+ * при уровне DEBUG для этого класса или для доли sample-rate записей, не длиннее max-length символов.
+ * Строка строится только при выводе записи.
+ */
+@Slf4j
+public final class LogPayload {
+
+    private static final ClassValue<Method> ID_GETTERS = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getId");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private static volatile double sampleRate;
+    private static volatile int maxLength = 2000;
+    private static volatile int maxIds = 10;
+
+    private final Object payload;
+
+    private LogPayload(Object payload) {
+        this.payload = payload;
+    }
+
+    public static Object of(@Nullable Object payload) {
+        return payload != null ? new LogPayload(payload) : null;
+    }
+
+    static void configure(LogPayloadProperties properties) {
+        sampleRate = properties.getSampleRate();
+        maxLength = properties.getMaxLength();
+        maxIds = properties.getMaxIds();
+    }
+
+    @Override
+    public String toString() {
+        if (log.isDebugEnabled() || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return full();
+        }
+        return summary();
+    }
+
+    private String summary() {
+        if (!(payload instanceof Collection)) {
+            Object id = id(payload);
+            return id != null ? payload.getClass().getSimpleName() + "(id=" + id + ")" : full();
+        }
+        Collection<?> elements = (Collection<?>) payload;
+        StringBuilder summary = new StringBuilder().append(elements.size()).append(" шт.");
+        if (elements.isEmpty()) {
+            return summary.toString();
+        }
+        summary.append(", id=[");
+        int shown = 0;
+        for (Object element : elements) {
+            if (shown == maxIds) {
+                summary.append(", ...");
+                break;
+            }
+            if (shown++ > 0) {
+                summary.append(", ");
+            }
+            summary.append(id(element));
+        }
+        return summary.append(']').toString();
+    }
+
+    /**
+     * Элементы списка выводятся по одному, пока строка не превысит max-length.
+     */
+    private String full() {
+        StringBuilder full = new StringBuilder();
+        if (payload instanceof Collection) {
+            full.append('[');
+            Iterator<?> elements = ((Collection<?>) payload).iterator();
+            while (elements.hasNext() && full.length() < maxLength) {
+                full.append(elements.next());
+                if (elements.hasNext()) {
+                    full.append(", ");
+                }
+            }
+            full.append(']');
+        } else {
+            full.append(payload);
+        }
+        if (full.length() > maxLength) {
+            int length = full.length();
+            full.setLength(maxLength);
+            full.append("...(").append(length).append(" символов)");
+        }
+        return full.toString();
+    }
+
+    @Nullable
+    private static Object id(@Nullable Object element) {
+        Method getter = element != null ? ID_GETTERS.get(element.getClass()) : null;
+        if (getter == null) {
+            return null;
+        }
+        try {
+            return getter.invoke(element);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
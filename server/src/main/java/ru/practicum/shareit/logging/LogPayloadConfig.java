@@ -0,0 +1,13 @@
+package ru.practicum.shareit.logging;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LogPayloadProperties.class)
+public class LogPayloadConfig {
+
+    public LogPayloadConfig(LogPayloadProperties properties) {
+        LogPayload.configure(properties);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "shareit.logging.payload")
+@Getter
+@Setter
+public class LogPayloadProperties {
+
+    /**
+     * Доля записей, в которых объект выводится полностью, от 0 до 1.
+     */
+    private double sampleRate = 0;
+    private int maxLength = 2000;
+    /**
+     * Сколько id элементов списка выводится в кратком виде.
+     */
+    private int maxIds = 10;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.pageable;
+
+import lombok.Value;
+
+/**
+ * Размер списка для отдельных запросов /count: списки страниц его не считают.
+ */
+@Value
+public class CountDto {
+    long count;
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.error_handler.ShareitInvalidArgumentException;
+
+/**
+ * Позиция после последнего элемента страницы: (start, id) для бронирований, (created, id) для запросов,
+ * только id для поиска вещей. Клиент начинает с пустого after, получает позицию в заголовке {@value #NEXT_HEADER}
+ * и передает ее в следующем запросе как есть; страница читается по индексу с этой позиции, без пропуска строк.
+ */
+@Value
+public class KeysetCursor {
+
+    public static final String NEXT_HEADER = "X-Next-After";
+    public static final KeysetCursor FIRST = new KeysetCursor(null, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Nullable
+    LocalDateTime key;
+    int id;
+
+    public static KeysetCursor decode(String token) {
+        if (token.isEmpty()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime key = separator == 0 ? null : LocalDateTime.parse(value.substring(0, separator));
+            return new KeysetCursor(key, Integer.parseInt(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ShareitInvalidArgumentException("Некорректное значение after: " + token);
+        }
+    }
+
+    /**
+     * Граница для списков в порядке убывания даты; первая страница начинается позже любой даты.
+     */
+    public LocalDateTime descendingKey() {
+        if (equals(FIRST)) {
+            return LATEST;
+        }
+        if (key == null) {
+            throw new ShareitInvalidArgumentException("Значение after не подходит для этого списка");
+        }
+        return key;
+    }
+
+    public int descendingId() {
+        return equals(FIRST) ? Integer.MAX_VALUE : id;
+    }
+
+    public String encode() {
+        String value = (key == null ? "" : key.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Заголовок ставится только для полной страницы: у неполной следующей нет.
+     */
+    public static <T> void setNext(HttpServletResponse response, List<T> page, int size,
+                                   Function<T, KeysetCursor> cursor) {
+        if (!page.isEmpty() && page.size() >= size) {
+            response.setHeader(NEXT_HEADER, cursor.apply(page.get(page.size() - 1)).encode());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.request;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.pageable.KeysetCursor;
 
 @RestController
 @RequiredArgsConstructor
@@ -31,9 +34,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> findAllRequests(@RequestParam int from, @RequestParam int size,
-                                                @RequestHeader("X-Sharer-User-Id") int userId) {
-        return itemRequestService.findAllRequests(from, size, userId);
+    public List<ItemRequestDto> findAllRequests(@RequestParam(defaultValue = "0") int from, @RequestParam int size,
+                                                @RequestParam(required = false) String after,
+                                                @RequestHeader("X-Sharer-User-Id") int userId,
+                                                HttpServletResponse response) {
+        if (after == null) {
+            return itemRequestService.findAllRequests(from, size, userId);
+        }
+        List<ItemRequestDto> requests = itemRequestService.findAllRequestsAfter(KeysetCursor.decode(after), size,
+                userId);
+        KeysetCursor.setNext(response, requests, size, request -> new KeysetCursor(request.getCreated(),
+                request.getId()));
+        return requests;
     }
 
     @GetMapping("/{requestId}")
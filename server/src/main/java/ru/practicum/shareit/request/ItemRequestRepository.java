@@ -1,9 +1,10 @@
 package ru.practicum.shareit.request;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -14,5 +15,11 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Intege
     @Query(" select r from ItemRequest as r " +
             " join r.requestor as requestor " +
             " where requestor.id != :userId ")
-    Page<ItemRequest> findAllWithoutUserRequests(int userId, Pageable pageable);
+    Slice<ItemRequest> findAllWithoutUserRequests(int userId, Pageable pageable);
+
+    @Query(" select r from ItemRequest as r " +
+            " where r.requestor.id != :userId " +
+            " and r.created <= :created and ( r.created < :created or r.id < :id ) " +
+            " order by r.created desc, r.id desc ")
+    List<ItemRequest> findAllWithoutUserRequestsAfter(int userId, LocalDateTime created, int id, Pageable pageable);
 }
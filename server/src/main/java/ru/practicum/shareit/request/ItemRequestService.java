@@ -3,6 +3,8 @@ package ru.practicum.shareit.request;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import ru.practicum.shareit.pageable.KeysetCursor;
+
 public interface ItemRequestService {
     ItemRequestDto addRequest(ItemRequestDto requestDto, int requestorId, LocalDateTime now);
 
@@ -10,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findAllRequests(int from, int size, int userId);
 
+    List<ItemRequestDto> findAllRequestsAfter(KeysetCursor after, int size, int userId);
+
     ItemRequestDto findRequestById(int requestId, int userId);
 }
@@ -6,9 +6,11 @@ import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.logging.LogPayload;
+import ru.practicum.shareit.pageable.KeysetCursor;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserNotFoundException;
@@ -27,7 +29,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User requestor = userRepository.findById(requestorId).orElseThrow(() -> new UserNotFoundException(requestorId));
         ItemRequest request = itemRequestMapper.toItemRequest(requestDto, requestor, now, new ArrayList<>());
         ItemRequestDto saved = itemRequestMapper.toItemRequestDto(itemRequestRepository.save(request));
-        log.info("Сохранили новый запрос вещи: {}", saved);
+        log.info("Сохранили новый запрос вещи: {}", LogPayload.of(saved));
         return saved;
     }
 
@@ -36,18 +38,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User requestor = userRepository.findById(requestorId).orElseThrow(() -> new UserNotFoundException(requestorId));
         List<ItemRequest> requests = itemRequestRepository.findAllByRequestorId(requestorId);
         List<ItemRequestDto> requestDtos = itemRequestMapper.toItemRequestDto(requests);
-        log.info("Вернули все запросы пользователя [{}] : {}", requestorId, requestDtos);
+        log.info("Вернули все запросы пользователя [{}] : {}", requestorId, LogPayload.of(requestDtos));
         return requestDtos;
     }
 
     @Override
     public List<ItemRequestDto> findAllRequests(int from, int size, int userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        Page<ItemRequest> requests = itemRequestRepository.findAllWithoutUserRequests(userId,
+        Slice<ItemRequest> requests = itemRequestRepository.findAllWithoutUserRequests(userId,
                 new OffsetPageRequest(from, size,
                         Sort.by("created").descending()));
         List<ItemRequestDto> requestDtos = requests.map(itemRequestMapper::toItemRequestDto).getContent();
-        log.info("Вернули запросы: {}", requestDtos);
+        log.info("Вернули запросы: {}", LogPayload.of(requestDtos));
+        return requestDtos;
+    }
+
+    @Override
+    public List<ItemRequestDto> findAllRequestsAfter(KeysetCursor after, int size, int userId) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+        List<ItemRequest> requests = itemRequestRepository.findAllWithoutUserRequestsAfter(userId, after.descendingKey(),
+                after.descendingId(), new OffsetPageRequest(0, size));
+        List<ItemRequestDto> requestDtos = itemRequestMapper.toItemRequestDto(requests);
+        log.info("Вернули запросы после [{}] : {}", after.getId(), LogPayload.of(requestDtos));
         return requestDtos;
     }
 
@@ -57,7 +69,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest request = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ItemRequestNotFoundException(requestId));
         ItemRequestDto requestDto = itemRequestMapper.toItemRequestDto(request);
-        log.info("Вернули запрос: {}", requestDto);
+        log.info("Вернули запрос: {}", LogPayload.of(requestDto));
         return requestDto;
     }
 }
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.Locale;
+
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Время фаз обработки текущего запроса для заголовка Server-Timing: db - вызовы репозиториев,
+ * mapping - вызовы мапперов, serialization - запись тела ответа. Вложенные вызовы одной фазы не суммируются.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    public enum Phase {
+        DB("db"),
+        MAPPING("mapping");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    private final long startNanos;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final int[] depth = new int[Phase.values().length];
+    private long serializationStartNanos = -1;
+
+    private ServerTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static ServerTiming start() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    static Object measure(Phase phase, MethodInvocation invocation) throws Throwable {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return invocation.proceed();
+        }
+        int i = phase.ordinal();
+        boolean outermost = timing.depth[i]++ == 0;
+        long start = outermost ? System.nanoTime() : 0;
+        try {
+            return invocation.proceed();
+        } finally {
+            timing.depth[i]--;
+            if (outermost) {
+                timing.phaseNanos[i] += System.nanoTime() - start;
+            }
+        }
+    }
+
+    static void serializationStarted() {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    String header(long now) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            appendMetric(header, phase.metric, phaseNanos[phase.ordinal()]);
+        }
+        if (serializationStartNanos >= 0) {
+            appendMetric(header, "serialization", now - serializationStartNanos);
+        }
+        appendMetric(header, "total", now - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1e6));
+    }
+}
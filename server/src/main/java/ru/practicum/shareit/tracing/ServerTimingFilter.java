@@ -0,0 +1,31 @@
+package ru.practicum.shareit.tracing;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Тело ответа буферизуется, чтобы заголовок Server-Timing включал время сериализации.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming timing = ServerTiming.start();
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, cachingResponse);
+        } finally {
+            ServerTiming.clear();
+            cachingResponse.setHeader(ServerTiming.HEADER, timing.header(System.nanoTime()));
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Засекает вызовы репозиториев (фаза db) и мапперов (фаза mapping) для {@link ServerTiming}.
+ */
+public class TimedPhasesPostProcessor implements BeanPostProcessor {
+
+    private static final MethodInterceptor DB = invocation -> ServerTiming.measure(ServerTiming.Phase.DB, invocation);
+    private static final MethodInterceptor MAPPING =
+            invocation -> ServerTiming.measure(ServerTiming.Phase.MAPPING, invocation);
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository && bean instanceof Advised && !((Advised) bean).isFrozen()) {
+            // первым в цепочке, чтобы учесть начало и фиксацию транзакции
+            ((Advised) bean).addAdvice(0, DB);
+            return bean;
+        }
+        if (beanName.endsWith("Mapper") && bean.getClass().getName().startsWith("ru.practicum.shareit.")) {
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice(MAPPING);
+            return proxyFactory.getProxy(bean.getClass().getClassLoader());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public FilterRegistrationBean<TraceIdFilter> traceIdFilter() {
+        FilterRegistrationBean<TraceIdFilter> registration = new FilterRegistrationBean<>(new TraceIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Заголовок Server-Timing; выключен по умолчанию, тогда репозитории и мапперы не оборачиваются.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "shareit.server-timing", name = "enabled")
+    public static class ServerTimingConfig {
+
+        @Bean
+        public static TimedPhasesPostProcessor timedPhasesPostProcessor() {
+            return new TimedPhasesPostProcessor();
+        }
+
+        @Bean
+        public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+            FilterRegistrationBean<ServerTimingFilter> registration =
+                    new FilterRegistrationBean<>(new ServerTimingFilter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+            return registration;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.logging.LogPayload;
 
 @Service
 @RequiredArgsConstructor
@@ -18,7 +19,7 @@ public class UserServiceImpl implements UserService {
     public UserDto addUser(UserDto userDto) {
         User user = userRepository.save(mapper.toUser(userDto));
         UserDto added = mapper.toUserDto(user);
-        log.info("Добавлен пользователь: {}", added);
+        log.info("Добавлен пользователь: {}", LogPayload.of(added));
         return added;
     }
 
@@ -26,7 +27,7 @@ public class UserServiceImpl implements UserService {
     public UserDto updateUser(int userId, UserDto userDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
         UserDto updated = mapper.toUserDto(userRepository.save(mapper.toUserWithUpdate(userDto, user)));
-        log.info("Данные о пользователе [{}] обновлены: {}", userDto, updated);
+        log.info("Данные о пользователе [{}] обновлены: {}", userId, LogPayload.of(updated));
         return updated;
     }
 
@@ -34,7 +35,7 @@ public class UserServiceImpl implements UserService {
     public UserDto getUserById(int userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
         UserDto userDto = mapper.toUserDto(user);
-        log.info("Вернули пользователя: {}", userDto);
+        log.info("Вернули пользователя: {}", LogPayload.of(userDto));
         return userDto;
     }
 
@@ -42,14 +43,14 @@ public class UserServiceImpl implements UserService {
     public void deleteUserById(int userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
         userRepository.deleteById(userId);
-        log.info("Удалили пользователя: {}", user);
+        log.info("Удалили пользователя: {}", LogPayload.of(user));
     }
 
     @Override
     public List<UserDto> getAllUsers() {
         List<User> users = userRepository.findAll();
         List<UserDto> usersDto = mapper.toUserDto(users);
-        log.info("Вернули всех пользователей: {}", usersDto);
+        log.info("Вернули всех пользователей: {}", LogPayload.of(usersDto));
         return usersDto;
     }
 }
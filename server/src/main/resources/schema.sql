@@ -1,3 +1,5 @@
+    DROP TABLE IF EXISTS idempotency_keys;
+    DROP TABLE IF EXISTS item_booking_summary;
     DROP TABLE IF EXISTS bookings;
     DROP TABLE IF EXISTS comments;
     DROP TABLE IF EXISTS items;
@@ -55,4 +57,40 @@
       CONSTRAINT pk_booking PRIMARY KEY (id),
       CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id),
       CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id)
-    );
\ No newline at end of file
+    );
+
+    CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+    CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date DESC, id DESC);
+    CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+    CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created DESC, id DESC);
+
+    CREATE TABLE IF NOT EXISTS item_booking_summary (
+      item_id BIGINT NOT NULL,
+      last_booking_id BIGINT,
+      last_start TIMESTAMP WITHOUT TIME ZONE,
+      next_booking_id BIGINT,
+      next_start TIMESTAMP WITHOUT TIME ZONE,
+      refreshed TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+      CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+      CONSTRAINT fk_item_booking_summary_to_items FOREIGN KEY(item_id) REFERENCES items(id),
+      CONSTRAINT fk_item_booking_summary_to_last FOREIGN KEY(last_booking_id) REFERENCES bookings(id),
+      CONSTRAINT fk_item_booking_summary_to_next FOREIGN KEY(next_booking_id) REFERENCES bookings(id)
+    );
+
+    CREATE INDEX IF NOT EXISTS item_booking_summary_next_start_idx ON item_booking_summary (next_start);
+    CREATE INDEX IF NOT EXISTS item_booking_summary_last_start_idx ON item_booking_summary (last_start);
+
+    CREATE TABLE IF NOT EXISTS idempotency_keys (
+      user_id BIGINT NOT NULL,
+      idempotency_key VARCHAR(255) NOT NULL,
+      method VARCHAR(10) NOT NULL,
+      path VARCHAR(512) NOT NULL,
+      request_hash VARCHAR(64) NOT NULL,
+      status INTEGER,
+      content_type VARCHAR(255),
+      body BYTEA,
+      created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+      CONSTRAINT pk_idempotency_key PRIMARY KEY (user_id, idempotency_key)
+    );
+
+    CREATE INDEX IF NOT EXISTS idempotency_keys_created_idx ON idempotency_keys (created);
@@ -0,0 +1,105 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingRequestDto;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Параллельные бронирования одной вещи на Postgres: вставка бронирования блокирует строку вещи для проверки
+ * внешнего ключа, поэтому порядок блокировок виден только на настоящей базе. initdb не запускается от root.
+ */
+@DisabledIfSystemProperty(named = "user.name", matches = "root")
+public class BookingConcurrencyPostgresTest {
+
+    private static final int ROUNDS = 20;
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    private static ConfigurableApplicationContext run() {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.driverClassName=org.postgresql.Driver",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres");
+    }
+
+    @Test
+    void whenTwoBookingsOfOneItemAtOnce_thenBothCommittedAndSummaryHasEarliest() throws Exception {
+        try (ConfigurableApplicationContext context = run()) {
+            BookingService bookingService = context.getBean(BookingService.class);
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            User owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+            User booker = userRepository.save(new User(0, "booker", "booker@mail.ru"));
+            Item drill = context.getBean(ItemRepository.class)
+                    .save(new Item(0, "drill", "cordless", true, owner, null));
+            LocalDateTime base = LocalDateTime.now().plusDays(1);
+            List<Throwable> errors = new CopyOnWriteArrayList<>();
+            int earliest = 0;
+
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch go = new CountDownLatch(1);
+                int[] ids = new int[2];
+                Thread[] threads = new Thread[2];
+                for (int t = 0; t < 2; t++) {
+                    int slot = t;
+                    LocalDateTime start = base.plusHours(2L * ROUNDS - 2L * round - slot);
+                    threads[t] = new Thread(() -> {
+                        try {
+                            go.await();
+                            ids[slot] = bookingService.addBooking(BookingRequestDto.builder()
+                                    .itemId(drill.getId())
+                                    .start(start)
+                                    .end(start.plusMinutes(30))
+                                    .build(), booker.getId()).getId();
+                        } catch (Throwable e) {
+                            errors.add(e);
+                        }
+                    });
+                    threads[t].start();
+                }
+                go.countDown();
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                earliest = ids[1];
+            }
+
+            assertThat(errors, empty());
+            assertThat(context.getBean(ItemBookingSummaryRepository.class).findById(drill.getId()).orElseThrow()
+                    .getNextBookingId(), equalTo(earliest));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookingFetchPlanTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(0, "booker", "booker@mail.ru"));
+        User neighbour = userRepository.save(new User(0, "neighbour", "neighbour@mail.ru"));
+        List<Item> items = List.of(
+                itemRepository.save(new Item(0, "drill", "cordless", true, owner, null)),
+                itemRepository.save(new Item(0, "saw", "cordless", true, owner, null)),
+                itemRepository.save(new Item(0, "ladder", "aluminium", true, owner, null)));
+        for (int i = 1; i <= 6; i++) {
+            LocalDateTime start = LocalDateTime.now().minusDays(i);
+            bookingRepository.save(new Booking(0, start, start.plusHours(1), items.get(i % 3),
+                    i <= 3 ? booker : neighbour, BookingStatus.WAITING));
+        }
+    }
+
+    /**
+     * Запросы страницы: проверка пользователя и одна выборка бронирований вместе с вещами и арендаторами.
+     */
+    private long statementsFor(MockHttpServletRequestBuilder request, int expectedSize) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(request)
+                .andExpect(jsonPath("$.length()").value(expectedSize))
+                .andExpect(jsonPath("$[0].item.name").isNotEmpty())
+                .andExpect(jsonPath("$[0].booker.name").isNotEmpty());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void whenOwnerBookingsPaged_thenStatementsDoNotGrowWithPageSize() throws Exception {
+        long single = statementsFor(get("/bookings/owner")
+                .header("X-Sharer-User-Id", owner.getId())
+                .param("state", "ALL")
+                .param("from", "0")
+                .param("size", "1"), 1);
+        long full = statementsFor(get("/bookings/owner")
+                .header("X-Sharer-User-Id", owner.getId())
+                .param("state", "WAITING")
+                .param("from", "0")
+                .param("size", "6"), 6);
+
+        assertThat(single, equalTo(2L));
+        assertThat(full, equalTo(2L));
+    }
+
+    @Test
+    void whenBookerOrKeysetBookingsPaged_thenItemsAndBookersFetchedWithBookings() throws Exception {
+        assertThat(statementsFor(get("/bookings")
+                .header("X-Sharer-User-Id", booker.getId())
+                .param("state", "PAST")
+                .param("from", "0")
+                .param("size", "3"), 3), equalTo(2L));
+        assertThat(statementsFor(get("/bookings/owner")
+                .header("X-Sharer-User-Id", owner.getId())
+                .param("state", "ALL")
+                .param("after", "")
+                .param("size", "4"), 4), equalTo(2L));
+    }
+}
@@ -23,6 +23,7 @@ import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingServiceImpl;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
 import ru.practicum.shareit.error_handler.ShareitInvalidArgumentException;
 import ru.practicum.shareit.error_handler.ShareitNotFoundException;
 import ru.practicum.shareit.item.Item;
@@ -77,17 +78,20 @@ public class BookingServiceUnitTest {
     private ItemRepository itemRepository;
     @Mock
     private BookingMapper mapper;
+    @Mock
+    private ItemBookingSummaryService summaryService;
 
     @BeforeEach
     public void start() {
-        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, mapper);
+        bookingService = new BookingServiceImpl(bookingRepository, userRepository, itemRepository, mapper,
+                summaryService);
     }
 
     @Test
     void whenAddBooking_thenBookingAdded() {
 
         when(userRepository.findById(2)).thenReturn(Optional.of(BOOKER));
-        when(itemRepository.findById(1)).thenReturn(Optional.of(ITEM));
+        when(itemRepository.findLockedById(1)).thenReturn(Optional.of(ITEM));
         when(mapper.toBooking(BOOKING_REQUEST_1_DTO, ITEM, BOOKER, BookingStatus.WAITING)).thenReturn(BOOKING_1);
         when(bookingRepository.save(BOOKING_1)).thenReturn(BOOKING_1);
         when(mapper.toBookingResponseDto(BOOKING_1)).thenReturn(BOOKING_RESPONSE_1_DTO);
@@ -95,6 +99,7 @@ public class BookingServiceUnitTest {
         BookingResponseDto actual = bookingService.addBooking(BOOKING_REQUEST_1_DTO, 2);
 
         verify(bookingRepository, times(1)).save(BOOKING_1);
+        verify(summaryService, times(1)).refresh(1);
         assertThat(actual, equalTo(BOOKING_RESPONSE_1_DTO));
     }
 
@@ -114,7 +119,7 @@ public class BookingServiceUnitTest {
     void whenAddBookingWithWrongItemId_thenThrowItemNotFoundException() {
 
         when(userRepository.findById(2)).thenReturn(Optional.of(BOOKER));
-        when(itemRepository.findById(1)).thenReturn(Optional.empty());
+        when(itemRepository.findLockedById(1)).thenReturn(Optional.empty());
 
         ItemNotFoundException ex = assertThrows(ItemNotFoundException.class,
                 () -> bookingService.addBooking(BOOKING_REQUEST_1_DTO, 2));
@@ -127,7 +132,7 @@ public class BookingServiceUnitTest {
     void whenAddBookingWithOwnerId_thenThrowShareitNotFoundException() {
 
         when(userRepository.findById(1)).thenReturn(Optional.of(OWNER));
-        when(itemRepository.findById(1)).thenReturn(Optional.of(ITEM));
+        when(itemRepository.findLockedById(1)).thenReturn(Optional.of(ITEM));
 
         ShareitNotFoundException ex = assertThrows(ShareitNotFoundException.class,
                 () -> bookingService.addBooking(BOOKING_REQUEST_1_DTO, 1));
@@ -146,7 +151,7 @@ public class BookingServiceUnitTest {
                 .build();
         Item itemUnavailable = new Item(2, "item", "*", false, OWNER, null);
         when(userRepository.findById(2)).thenReturn(Optional.of(BOOKER));
-        when(itemRepository.findById(2)).thenReturn(Optional.of(itemUnavailable));
+        when(itemRepository.findLockedById(2)).thenReturn(Optional.of(itemUnavailable));
 
         ShareitInvalidArgumentException ex = assertThrows(ShareitInvalidArgumentException.class,
                 () -> bookingService.addBooking(bookingRequestDto, 2));
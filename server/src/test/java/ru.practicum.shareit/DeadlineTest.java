@@ -0,0 +1,84 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionTimedOutException;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class DeadlineTest {
+
+    @MockBean
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void whenDeadlinePassedOnArrival_thenStatus504WithoutProcessing() throws Exception {
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1)
+                        .header("X-Request-Timeout", 0))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(itemService, never()).getItemById(anyInt(), anyInt());
+    }
+
+    @Test
+    void whenDeadlineAhead_thenRemainingBudgetAvailableToHandler() throws Exception {
+        when(itemService.getItemById(1, 1)).thenAnswer(invocation -> {
+            assertThat(RequestDeadline.remainingMillis(), notNullValue());
+            assertThat(RequestDeadline.remainingMillis(), greaterThan(0L));
+            return null;
+        });
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1)
+                        .header("X-Request-Timeout", 5000))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void whenQueryTimedOut_thenStatus504() throws Exception {
+        when(itemService.getItemById(1, 1)).thenThrow(new QueryTimeoutException("canceling statement"));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    void whenDeadlinePassedDuringRequest_thenRepositoryCallRejected() throws Exception {
+        RequestDeadline.start(50);
+        Thread.sleep(100);
+
+        assertThrows(TransactionTimedOutException.class, () -> userRepository.findAll());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.idempotency.IdempotencyKey;
+import ru.practicum.shareit.idempotency.IdempotencyKeyId;
+import ru.practicum.shareit.idempotency.IdempotencyKeyRepository;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class IdempotencyTest {
+
+    private static final String KNIFE = "{\"name\":\"knife\",\"description\":\"for vegetables\",\"available\":true}";
+    private static final String SPOON = "{\"name\":\"spoon\",\"description\":\"for soup\",\"available\":true}";
+
+    @MockBean
+    private ItemService itemService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private IdempotencyKeyRepository repository;
+
+    private MockHttpServletResponse addItem(int userId, String key, String json) throws Exception {
+        return mockMvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", userId)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andReturn().getResponse();
+    }
+
+    @Test
+    void whenRepeatedWithSameKey_thenReplayedWithoutExecuting() throws Exception {
+        when(itemService.addItem(any(), anyInt())).thenReturn(new ItemDto(1, "knife", "for vegetables", true, null));
+
+        MockHttpServletResponse first = addItem(1, "key-1", KNIFE);
+        MockHttpServletResponse second = addItem(1, "key-1", KNIFE);
+
+        verify(itemService, times(1)).addItem(any(), anyInt());
+        assertThat(first.getHeader("Idempotent-Replayed"), nullValue());
+        assertThat(second.getHeader("Idempotent-Replayed"), equalTo("true"));
+        assertThat(second.getStatus(), equalTo(first.getStatus()));
+        assertThat(second.getContentAsString(), equalTo(first.getContentAsString()));
+    }
+
+    @Test
+    void whenSameKeyWithOtherBody_thenUnprocessableEntity() throws Exception {
+        when(itemService.addItem(any(), anyInt())).thenReturn(new ItemDto(2, "knife", "for vegetables", true, null));
+
+        addItem(2, "key-2", KNIFE);
+        MockHttpServletResponse second = addItem(2, "key-2", SPOON);
+
+        assertThat(second.getStatus(), equalTo(422));
+        verify(itemService, times(1)).addItem(any(), anyInt());
+    }
+
+    @Test
+    void whenConcurrentDuplicates_thenSecondWaitsForFirst() throws Exception {
+        when(itemService.addItem(any(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return new ItemDto(3, "knife", "for vegetables", true, null);
+        });
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return addItem(3, "key-3", KNIFE);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        MockHttpServletResponse second = addItem(3, "key-3", KNIFE);
+
+        assertThat(second.getStatus(), equalTo(200));
+        assertThat(second.getContentAsString(), equalTo(first.get().getContentAsString()));
+        verify(itemService, times(1)).addItem(any(), anyInt());
+    }
+
+    @Test
+    void whenServerError_thenKeyReleased() throws Exception {
+        when(itemService.addItem(any(), anyInt()))
+                .thenThrow(new IllegalStateException("database is down"))
+                .thenReturn(new ItemDto(4, "knife", "for vegetables", true, null));
+
+        assertThat(addItem(4, "key-4", KNIFE).getStatus(), equalTo(500));
+        MockHttpServletResponse retry = addItem(4, "key-4", KNIFE);
+
+        assertThat(retry.getStatus(), equalTo(200));
+        assertThat(retry.getHeader("Idempotent-Replayed"), nullValue());
+        verify(itemService, times(2)).addItem(any(), anyInt());
+    }
+
+    @Test
+    void whenFirstRequestLostBeyondLease_thenRetryTakesOverKey() throws Exception {
+        when(itemService.addItem(any(), anyInt())).thenReturn(new ItemDto(5, "knife", "for vegetables", true, null));
+        addItem(5, "key-5-probe", KNIFE);
+        IdempotencyKey probe = repository.findById(new IdempotencyKeyId(5, "key-5-probe")).orElseThrow();
+        repository.saveAndFlush(new IdempotencyKey(new IdempotencyKeyId(5, "key-5"), probe.getMethod(),
+                probe.getPath(), probe.getRequestHash(), LocalDateTime.now().minusMinutes(5)));
+
+        MockHttpServletResponse retry = addItem(5, "key-5", KNIFE);
+
+        assertThat(retry.getStatus(), equalTo(200));
+        assertThat(retry.getHeader("Idempotent-Replayed"), nullValue());
+        verify(itemService, times(2)).addItem(any(), anyInt());
+        assertThat(repository.findById(new IdempotencyKeyId(5, "key-5")).orElseThrow().isCompleted(), equalTo(true));
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingRequestDto;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.ItemBookingSummary;
+import ru.practicum.shareit.booking.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "shareit.booking-summary.refresh-interval=PT1H")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemBookingSummaryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @SpyBean
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+    @Autowired
+    private ItemBookingSummaryService summaryService;
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+    private Item ladder;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(0, "booker", "booker@mail.ru"));
+        drill = itemRepository.save(new Item(0, "drill", "cordless", true, owner, null));
+        saw = itemRepository.save(new Item(0, "saw", "cordless", true, owner, null));
+        ladder = itemRepository.save(new Item(0, "ladder", "aluminium", true, owner, null));
+    }
+
+    private int book(Item item, LocalDateTime start) {
+        return bookingService.addBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(1))
+                .build(), booker.getId()).getId();
+    }
+
+    private void expectOwnerItem(int from, Item item) throws Exception {
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", String.valueOf(from))
+                        .param("size", "1"))
+                .andExpect(jsonPath("$[0].id").value(item.getId()));
+    }
+
+    @Test
+    void whenOwnerItemsPaged_thenSortedByLastBookingAcrossPages() throws Exception {
+        book(saw, LocalDateTime.now().minusDays(1));
+        int ladderBooking = book(ladder, LocalDateTime.now().minusDays(3));
+
+        expectOwnerItem(0, ladder);
+        expectOwnerItem(1, saw);
+        expectOwnerItem(2, drill);
+        assertThat(summaryRepository.findById(ladder.getId()).orElseThrow().getLastBookingId(),
+                equalTo(ladderBooking));
+    }
+
+    @Test
+    void whenNextBookingStarts_thenListingReadsBookingsUntilScheduledRefresh() throws Exception {
+        int sawBooking = book(saw, LocalDateTime.now().minusDays(1));
+        int drillBooking = book(drill, LocalDateTime.now().plusNanos(300_000_000));
+        book(ladder, LocalDateTime.now().minusDays(3));
+        bookingService.approveOrRejectBooking(sawBooking, owner.getId(), false);
+        Thread.sleep(500);
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", "5"))
+                .andExpect(jsonPath("$[0].id").value(ladder.getId()))
+                .andExpect(jsonPath("$[1].id").value(saw.getId()))
+                .andExpect(jsonPath("$[1].lastBooking.id").value(sawBooking))
+                .andExpect(jsonPath("$[2].id").value(drill.getId()))
+                .andExpect(jsonPath("$[2].lastBooking.id").value(drillBooking))
+                .andExpect(jsonPath("$[2].nextBooking").isEmpty());
+        assertThat(summaryRepository.findById(drill.getId()).orElseThrow().getNextBookingId(),
+                equalTo(drillBooking));
+
+        summaryService.refreshStale();
+
+        ItemBookingSummary refreshed = summaryRepository.findById(drill.getId()).orElseThrow();
+        assertThat(refreshed.getLastBookingId(), equalTo(drillBooking));
+        assertThat(refreshed.getNextBookingId(), nullValue());
+    }
+
+    @Test
+    void whenItemDisappearsDuringRefresh_thenOtherItemsStillRefreshed() {
+        doReturn(Optional.empty()).when(itemRepository).findLockedById(drill.getId());
+
+        summaryService.refreshStale();
+
+        assertThat(summaryRepository.existsById(drill.getId()), is(false));
+        assertThat(summaryRepository.existsById(saw.getId()), is(true));
+        assertThat(summaryRepository.existsById(ladder.getId()), is(true));
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemFetchPlanTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Booking last;
+    private Booking next;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(0, "booker", "booker@mail.ru"));
+        User neighbour = userRepository.save(new User(0, "neighbour", "neighbour@mail.ru"));
+        drill = itemRepository.save(new Item(0, "drill", "cordless", true, owner, null));
+        LocalDateTime now = LocalDateTime.now();
+        last = bookingRepository.save(new Booking(0, now.minusDays(3), now.minusDays(2), drill, booker,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(0, now.minusDays(1), now.plusDays(1), drill, neighbour,
+                BookingStatus.REJECTED));
+        next = bookingRepository.save(new Booking(0, now.plusDays(2), now.plusDays(3), drill, neighbour,
+                BookingStatus.WAITING));
+        commentRepository.save(new Comment(0, "works fine", drill, booker, now.minusDays(1)));
+        commentRepository.save(new Comment(0, "too loud", drill, neighbour, now.minusDays(1)));
+    }
+
+    @Test
+    void whenOwnerGetsItem_thenItemBookingsAndCommentsFetchedInTwoStatements() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/items/{itemId}", drill.getId())
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(jsonPath("$.lastBooking.id").value(last.getId()))
+                .andExpect(jsonPath("$.lastBooking.bookerId").value(booker.getId()))
+                .andExpect(jsonPath("$.nextBooking.id").value(next.getId()))
+                .andExpect(jsonPath("$.nextBooking.status").value("WAITING"))
+                .andExpect(jsonPath("$.comments[0].authorName").value("booker"))
+                .andExpect(jsonPath("$.comments[1].authorName").value("neighbour"));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void whenNotOwnerGetsItem_thenBookingsHidden() throws Exception {
+        mockMvc.perform(get("/items/{itemId}", drill.getId())
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(jsonPath("$.lastBooking").isEmpty())
+                .andExpect(jsonPath("$.nextBooking").isEmpty())
+                .andExpect(jsonPath("$.comments.length()").value(2));
+    }
+}
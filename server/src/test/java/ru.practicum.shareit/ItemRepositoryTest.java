@@ -1,7 +1,6 @@
 package ru.practicum.shareit;
 
 import java.time.LocalDateTime;
-import java.time.Month;
 import java.util.Collections;
 import java.util.List;
 
@@ -21,6 +20,7 @@ import ru.practicum.shareit.user.User;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static ru.practicum.shareit.item.ItemRepository.ItemDetails;
 import static ru.practicum.shareit.item.ItemRepository.ItemWithBooking;
 
 @DataJpaTest
@@ -33,23 +33,24 @@ public class ItemRepositoryTest {
             LocalDateTime.now().minusDays(1), Collections.emptyList());
     public static final Item ITEM_2 = new Item(2, "plate", "for soup", true, USER_1, REQUEST_1);
     public static final Item ITEM_1 = new Item(1, "knife", "for vegetables", true, USER_1, null);
-    private static final LocalDateTime START_1 = LocalDateTime.of(2023, Month.JULY, 1, 0, 0);
-    private static final LocalDateTime END_1 = LocalDateTime.of(2023, Month.JULY, 5, 0, 0);
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final LocalDateTime START_1 = NOW.minusMonths(3);
+    private static final LocalDateTime END_1 = START_1.plusDays(4);
     public static final Booking BOOKING_1 = new Booking(1, START_1, END_1, ITEM_1, USER_2, BookingStatus.APPROVED);
-    private static final LocalDateTime START_2 = LocalDateTime.of(2023, Month.AUGUST,  1, 0, 0);
-    private static final LocalDateTime END_2 = LocalDateTime.of(2023, Month.AUGUST,  5, 0, 0);
+    private static final LocalDateTime START_2 = NOW.minusMonths(2);
+    private static final LocalDateTime END_2 = START_2.plusDays(4);
     public static final Booking BOOKING_2_SHOULD_BE_LAST = new Booking(2, START_2, END_2, ITEM_1, USER_2,
             BookingStatus.APPROVED);
     public static final Booking BOOKING_2_SHOULD_BE_LAST_REJECTED = new Booking(2, START_2, END_2, ITEM_1, USER_2,
             BookingStatus.REJECTED);
-    private static final LocalDateTime START_3 = LocalDateTime.of(2023, Month.SEPTEMBER,  1, 0, 0);
-    private static final LocalDateTime END_3 = LocalDateTime.of(2023, Month.SEPTEMBER,  5, 0, 0);
+    private static final LocalDateTime START_3 = NOW.plusMonths(1);
+    private static final LocalDateTime END_3 = START_3.plusDays(4);
     public static final Booking BOOKING_3_SHOULD_BE_NEXT = new Booking(3, START_3, END_3, ITEM_1, USER_2,
             BookingStatus.WAITING);
     public static final Booking BOOKING_3_SHOULD_BE_NEXT_REJECTED = new Booking(3, START_3, END_3, ITEM_1, USER_2,
             BookingStatus.REJECTED);
-    private static final LocalDateTime START_4 = LocalDateTime.of(2023, Month.OCTOBER,  1, 0, 0);
-    private static final LocalDateTime END_4 = LocalDateTime.of(2023, Month.OCTOBER,  1, 0, 0);
+    private static final LocalDateTime START_4 = NOW.plusMonths(2);
+    private static final LocalDateTime END_4 = START_4;
     public static final Booking BOOKING_4 = new Booking(4, START_4, END_4, ITEM_1, USER_2, BookingStatus.WAITING);
     @Autowired
     private TestEntityManager testEntityManager;
@@ -96,7 +97,7 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    void shouldFindItemsWithBookingsByOwnerId() {
+    void shouldFindItemsWithSummaryByOwnerId_withoutSummaryRow() {
         int ownerId = 1;
         int lastBookingId = 2;
         int nextBookingId = 3;
@@ -108,7 +109,7 @@ public class ItemRepositoryTest {
         testEntityManager.merge(BOOKING_3_SHOULD_BE_NEXT);
         testEntityManager.merge(BOOKING_4);
 
-        List<ItemWithBooking> items = itemRepository.findItemsWithBookingsByOwnerId(ownerId, LocalDateTime.now(),
+        List<ItemWithBooking> items = itemRepository.findItemsWithSummaryByOwnerId(ownerId, LocalDateTime.now(),
                 new OffsetPageRequest(0, 5)).getContent();
 
         assertThat(items, hasSize(1));
@@ -117,7 +118,7 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    void shouldFindItemsWithOnlyLastBookingByOwnerId() {
+    void shouldFindItemsWithOnlyLastBookingByOwnerId_withoutSummaryRow() {
         int ownerId = 1;
         int lastBookingId = 2;
         testEntityManager.merge(USER_1);
@@ -126,7 +127,7 @@ public class ItemRepositoryTest {
         testEntityManager.merge(BOOKING_1);
         testEntityManager.merge(BOOKING_2_SHOULD_BE_LAST);
 
-        List<ItemWithBooking> items = itemRepository.findItemsWithBookingsByOwnerId(ownerId, LocalDateTime.now(),
+        List<ItemWithBooking> items = itemRepository.findItemsWithSummaryByOwnerId(ownerId, LocalDateTime.now(),
                 new OffsetPageRequest(0, 5)).getContent();
 
         assertThat(items, hasSize(1));
@@ -135,7 +136,7 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    void shouldFindItemWithBookingsByItemId() {
+    void shouldFindItemDetailsById() {
         int itemId = 1;
         int lastBookingId = 2;
         int nextBookingId = 3;
@@ -147,14 +148,14 @@ public class ItemRepositoryTest {
         testEntityManager.merge(BOOKING_3_SHOULD_BE_NEXT);
         testEntityManager.merge(BOOKING_4);
 
-        ItemWithBooking item = itemRepository.findItemWithBookingsByItemId(itemId, LocalDateTime.now());
+        ItemDetails item = itemRepository.findItemDetailsById(itemId, LocalDateTime.now()).orElseThrow();
 
-        assertThat(item.getLastBooking(), equalTo(lastBookingId));
-        assertThat(item.getNextBooking(), equalTo(nextBookingId));
+        assertThat(item.getLastBookingId(), equalTo(lastBookingId));
+        assertThat(item.getNextBookingId(), equalTo(nextBookingId));
     }
 
     @Test
-    void shouldFindItemWithBookingsNotRejectedByItemId() {
+    void shouldFindItemDetailsWithBookingsNotRejectedById() {
         int itemId = 1;
         int lastBookingId = 1;
         int nextBookingId = 4;
@@ -166,9 +167,9 @@ public class ItemRepositoryTest {
         testEntityManager.merge(BOOKING_3_SHOULD_BE_NEXT_REJECTED);
         testEntityManager.merge(BOOKING_4);
 
-        ItemWithBooking item = itemRepository.findItemWithBookingsByItemId(itemId, LocalDateTime.now());
+        ItemDetails item = itemRepository.findItemDetailsById(itemId, LocalDateTime.now()).orElseThrow();
 
-        assertThat(item.getLastBooking(), equalTo(lastBookingId));
-        assertThat(item.getNextBooking(), equalTo(nextBookingId));
+        assertThat(item.getLastBookingId(), equalTo(lastBookingId));
+        assertThat(item.getNextBookingId(), equalTo(nextBookingId));
     }
 }
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearch;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.TrigramItemSearch;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(
+        properties = "shareit.item-search.mode=index",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ItemSearchIndexTest {
+
+    private static final List<String> QUERIES = List.of("knife", "KNI", "fe", "f", "veg", "for", "SOUP", "ате",
+            "нож", "zzz", "e f", "50%", "5_0");
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TrigramItemSearch itemSearch;
+    private int ownerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userRepository.save(new User(0, "owner", "owner@mail.ru")).getId();
+        addItem("knife", "for vegetables", true);
+        addItem("plate", "for soup", true);
+        addItem("Нож", "для хлеба", true);
+        addItem("Knife sharpener", "точилка для ножей", false);
+        addItem("spoon", "Soup spoon", true);
+        addItem("Терка", "для сыра, натереть", true);
+        addItem("drill", "50% off", true);
+        addItem("drill", "500 W", true);
+    }
+
+    private ItemDto addItem(String name, String description, boolean available) {
+        return itemService.addItem(new ItemDto(0, name, description, available, null), ownerId);
+    }
+
+    private List<Integer> sqlIds(String text, int from, int size) {
+        return itemRepository.findAllByText(ItemSearch.escapeLike(text), new OffsetPageRequest(from, size)).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Integer> indexIds(String text, int from, int size) {
+        return itemService.findItems(text, from, size).stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void whenSearch_thenSameItemsAsSql() {
+        for (String query : QUERIES) {
+            assertThat(query, indexIds(query, 0, 20), equalTo(sqlIds(query, 0, 20)));
+        }
+    }
+
+    @Test
+    void whenPaged_thenPagesFollowIdOrder() {
+        List<Integer> all = indexIds("o", 0, 20);
+
+        assertThat(indexIds("o", 1, 2), equalTo(all.subList(1, 3)));
+        assertThat(indexIds("o", all.size(), 2), empty());
+    }
+
+    @Test
+    void whenItemUpdated_thenIndexUpdated() {
+        ItemDto spoon = addItem("ladle", "for soup", true);
+
+        itemService.updateItem(spoon.getId(), new ItemDto(0, "ladle", null, false, null), ownerId);
+        assertThat(indexIds("ladle", 0, 20), empty());
+
+        itemService.updateItem(spoon.getId(), new ItemDto(0, "big ladle", null, true, null), ownerId);
+        assertThat(indexIds("big", 0, 20), contains(spoon.getId()));
+        assertThat(indexIds("soup", 0, 20), equalTo(sqlIds("soup", 0, 20)));
+    }
+
+    @Test
+    void whenSavedBypassingService_thenFoundAfterRebuild() {
+        User owner = userRepository.findById(ownerId).orElseThrow();
+        int id = itemRepository.save(new Item(0, "fork", "for salad", true, owner, null)).getId();
+        assertThat(indexIds("fork", 0, 20), empty());
+
+        itemSearch.rebuild();
+
+        assertThat(indexIds("fork", 0, 20), contains(id));
+        assertThat(indexIds("salad", 0, 20), equalTo(sqlIds("salad", 0, 20)));
+    }
+
+    @Test
+    void whenChangedBypassingService_thenDroppedFromResultsBeforeRebuild() {
+        ItemDto fork = addItem("fork", "for salad", true);
+        ItemDto ladle = addItem("ladle", "for soup", true);
+        Item disabled = itemRepository.findById(fork.getId()).orElseThrow();
+        disabled.setAvailable(false);
+        itemRepository.save(disabled);
+        Item renamed = itemRepository.findById(ladle.getId()).orElseThrow();
+        renamed.setName("scoop");
+        renamed.setDescription("for rice");
+        itemRepository.save(renamed);
+
+        assertThat(indexIds("fork", 0, 20), empty());
+        assertThat(indexIds("ladle", 0, 20), empty());
+        assertThat(indexIds("for", 0, 20), equalTo(sqlIds("for", 0, 20)));
+        assertThat(indexIds("scoop", 0, 20), contains(ladle.getId()));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearch;
+import ru.practicum.shareit.item.TrgmItemSearch;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+
+/**
+ * Инициализация схемы на настоящем Postgres: ItemSearchTrgmTest работает на H2 и не видит порядок скриптов.
+ * initdb не запускается от root.
+ */
+@DisabledIfSystemProperty(named = "user.name", matches = "root")
+public class ItemSearchPostgresTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    private static String createDatabase(String name) {
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + name);
+        return postgres.getJdbcUrl("postgres", name);
+    }
+
+    private static ConfigurableApplicationContext run(String url, String mode) {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.driverClassName=org.postgresql.Driver",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--shareit.item-search.mode=" + mode);
+    }
+
+    private static List<String> trgmObjects(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<String> objects = jdbc.queryForList("select indexname from pg_indexes where tablename = 'items' " +
+                "and indexname like '%trgm%'", String.class);
+        objects.addAll(jdbc.queryForList("select extname from pg_extension where extname = 'pg_trgm'",
+                String.class));
+        return objects;
+    }
+
+    @Test
+    void whenTrgmModeOnFreshAndExistingDatabase_thenIndexesCreatedAfterTables() {
+        String url = createDatabase("shareit_trgm");
+        for (int start = 0; start < 2; start++) {
+            try (ConfigurableApplicationContext context = run(url, "trgm")) {
+                assertThat(trgmObjects(context), containsInAnyOrder("items_name_trgm_idx",
+                        "items_description_trgm_idx", "pg_trgm"));
+
+                User owner = context.getBean(UserRepository.class).save(new User(0, "owner", "owner@mail.ru"));
+                Item drill = context.getBean(ItemRepository.class)
+                        .save(new Item(0, "Drill", "cordless", true, owner, null));
+                ItemSearch itemSearch = context.getBean(ItemSearch.class);
+                assertThat(itemSearch, instanceOf(TrgmItemSearch.class));
+                List<Integer> found = itemSearch.findAvailable("rIL", new OffsetPageRequest(0, 10)).stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList());
+                assertThat(found, containsInAnyOrder(drill.getId()));
+            }
+        }
+    }
+
+    @Test
+    void whenSqlMode_thenTrgmNotInstalled() {
+        try (ConfigurableApplicationContext context = run(createDatabase("shareit_sql"), "sql")) {
+            assertThat(trgmObjects(context), empty());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearch;
+import ru.practicum.shareit.item.SqlItemSearch;
+import ru.practicum.shareit.pageable.OffsetPageRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+
+@Transactional
+@SpringBootTest(
+        properties = "shareit.item-search.mode=trgm",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class ItemSearchTrgmTest {
+
+    @Autowired
+    private ItemSearch itemSearch;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void whenNotPostgres_thenFallbackToLike() {
+        assertThat(itemSearch, instanceOf(SqlItemSearch.class));
+    }
+
+    @Test
+    void whenPatternHasWildcards_thenMatchedLiterally() {
+        User owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        Item discount = itemRepository.save(new Item(0, "drill", "50% off", true, owner, null));
+        Item plain = itemRepository.save(new Item(0, "drill", "500 W", true, owner, null));
+        itemRepository.save(new Item(0, "drill 50%", "broken", false, owner, null));
+
+        List<Integer> literal = itemRepository.findAllByLikePattern("%50\\%%", new OffsetPageRequest(0, 10))
+                .stream().map(Item::getId).collect(Collectors.toList());
+        List<Integer> any = itemRepository.findAllByLikePattern("%DRILL%", new OffsetPageRequest(0, 10))
+                .stream().map(Item::getId).collect(Collectors.toList());
+
+        assertThat(literal, contains(discount.getId()));
+        assertThat(any, contains(discount.getId(), plain.getId()));
+    }
+
+    @Test
+    void whenSqlSearchTextHasWildcards_thenMatchedLiterallyInIdOrder() {
+        User owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        Item discount = itemRepository.save(new Item(0, "drill", "50% off", true, owner, null));
+        Item plain = itemRepository.save(new Item(0, "drill", "500 W", true, owner, null));
+
+        assertThat(ids(itemSearch.findAvailable("50%", new OffsetPageRequest(0, 10)).getContent()),
+                contains(discount.getId()));
+        assertThat(ids(itemSearch.findAvailable("5_0", new OffsetPageRequest(0, 10)).getContent()), empty());
+        assertThat(ids(itemSearch.findAvailable("drill", new OffsetPageRequest(0, 10)).getContent()),
+                contains(discount.getId(), plain.getId()));
+    }
+
+    private static List<Integer> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -15,7 +15,6 @@ import org.springframework.data.domain.PageImpl;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingForItemDto;
 import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.booking.BookingNotFoundException;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.error_handler.ShareitInvalidArgumentException;
@@ -31,6 +30,7 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.ItemServiceImpl;
 import ru.practicum.shareit.item.ItemWithBookingAndCommentsDto;
+import ru.practicum.shareit.item.SqlItemSearch;
 import ru.practicum.shareit.pageable.OffsetPageRequest;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestNotFoundException;
@@ -50,6 +50,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.ItemRepository.ItemDetails;
 import static ru.practicum.shareit.item.ItemRepository.ItemWithBooking;
 
 @ExtendWith(MockitoExtension.class)
@@ -105,7 +106,8 @@ public class ItemServiceUnitTest {
     @BeforeEach
     public void start() {
         itemService = new ItemServiceImpl(itemRepository, itemMapper, userRepository, bookingRepository,
-                bookingMapper, itemRequestRepository, commentRepository, commentMapper);
+                bookingMapper, itemRequestRepository, commentRepository, commentMapper,
+                new SqlItemSearch(itemRepository));
     }
 
     @Test
@@ -188,73 +190,32 @@ public class ItemServiceUnitTest {
     @Test
     void whenGetItemByIdWithOwnerId_thenItemWithBookingsReturned() {
 
-        when(itemRepository.findById(1)).thenReturn(Optional.of(ITEM_1));
-        ItemWithBooking itemWithBooking = mock(ItemWithBooking.class);
-        when(itemRepository.findItemWithBookingsByItemId(eq(1), any(LocalDateTime.class)))
-                .thenReturn(itemWithBooking);
-        when(itemWithBooking.getLastBooking()).thenReturn(1);
-        when(itemWithBooking.getNextBooking()).thenReturn(2);
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(BOOKING_1));
-        when(bookingMapper.toBookingForItemDto(BOOKING_1)).thenReturn(BOOKING_FOR_ITEM_DTO_1);
-        when(bookingRepository.findById(2)).thenReturn(Optional.of(BOOKING_2));
-        when(bookingMapper.toBookingForItemDto(BOOKING_2)).thenReturn(BOOKING_FOR_ITEM_DTO_2);
+        ItemDetails itemDetails = mock(ItemDetails.class);
+        when(itemRepository.findItemDetailsById(eq(1), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(itemDetails));
+        when(itemDetails.getOwnerId()).thenReturn(1);
         when(commentRepository.findAllByItemId(1)).thenReturn(List.of(COMMENT));
         when(commentMapper.toCommentDto(COMMENT)).thenReturn(COMMENT_DTO);
-        when(itemMapper.toItemWithBookingAndCommentsDto(itemWithBooking, BOOKING_FOR_ITEM_DTO_1,
-                BOOKING_FOR_ITEM_DTO_2, List.of(COMMENT_DTO))).thenReturn(ITEM_WITH_BOOKING_AND_COMMENTS_DTO);
+        when(itemMapper.toItemWithBookingAndCommentsDto(itemDetails, true, List.of(COMMENT_DTO)))
+                .thenReturn(ITEM_WITH_BOOKING_AND_COMMENTS_DTO);
 
         ItemWithBookingAndCommentsDto actual = itemService.getItemById(1, 1);
 
         assertThat(actual, equalTo(ITEM_WITH_BOOKING_AND_COMMENTS_DTO));
-    }
-
-    @Test
-    void whenGetItemByIdAndNextBookingNotFound_thenThrowBookingNotFoundException() {
-
-        when(itemRepository.findById(1)).thenReturn(Optional.of(ITEM_1));
-        ItemWithBooking itemWithBooking = mock(ItemWithBooking.class);
-        when(itemRepository.findItemWithBookingsByItemId(eq(1), any(LocalDateTime.class)))
-                .thenReturn(itemWithBooking);
-        when(itemWithBooking.getLastBooking()).thenReturn(1);
-        when(itemWithBooking.getNextBooking()).thenReturn(2);
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(BOOKING_1));
-        when(bookingMapper.toBookingForItemDto(BOOKING_1)).thenReturn(BOOKING_FOR_ITEM_DTO_1);
-        when(bookingRepository.findById(2)).thenReturn(Optional.empty());
-
-        BookingNotFoundException ex = assertThrows(BookingNotFoundException.class,
-                () -> itemService.getItemById(1, 1));
-
-        assertThat(ex.getMessage(), equalTo("Бронирование [2] не найдено"));
-    }
-
-    @Test
-    void whenGetItemByIdAndLastBookingNotFound_thenThrowBookingNotFoundException() {
-
-        when(itemRepository.findById(1)).thenReturn(Optional.of(ITEM_1));
-        ItemWithBooking itemWithBooking = mock(ItemWithBooking.class);
-        when(itemRepository.findItemWithBookingsByItemId(eq(1), any(LocalDateTime.class)))
-                .thenReturn(itemWithBooking);
-        when(itemWithBooking.getLastBooking()).thenReturn(1);
-        when(itemWithBooking.getNextBooking()).thenReturn(2);
-        when(bookingRepository.findById(1)).thenReturn(Optional.empty());
-
-        BookingNotFoundException ex = assertThrows(BookingNotFoundException.class,
-                () -> itemService.getItemById(1, 1));
-
-        assertThat(ex.getMessage(), equalTo("Бронирование [1] не найдено"));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void whenGetItemByIdWithNotOwnerId_thenItemWithoutBookingsReturned() {
 
-        when(itemRepository.findById(1)).thenReturn(Optional.of(ITEM_1));
-        ItemWithBooking itemWithBooking = mock(ItemWithBooking.class);
-        when(itemRepository.findItemWithBookingsByItemId(eq(1), any(LocalDateTime.class)))
-                .thenReturn(itemWithBooking);
+        ItemDetails itemDetails = mock(ItemDetails.class);
+        when(itemRepository.findItemDetailsById(eq(1), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(itemDetails));
+        when(itemDetails.getOwnerId()).thenReturn(1);
         when(commentRepository.findAllByItemId(1)).thenReturn(List.of(COMMENT));
         when(commentMapper.toCommentDto(COMMENT)).thenReturn(COMMENT_DTO);
-        when(itemMapper.toItemWithBookingAndCommentsDto(itemWithBooking, null,
-                null, List.of(COMMENT_DTO))).thenReturn(ITEM_WITHOUT_BOOKING_AND_COMMENTS_DTO);
+        when(itemMapper.toItemWithBookingAndCommentsDto(itemDetails, false, List.of(COMMENT_DTO)))
+                .thenReturn(ITEM_WITHOUT_BOOKING_AND_COMMENTS_DTO);
 
         ItemWithBookingAndCommentsDto actual = itemService.getItemById(1, 2);
 
@@ -265,7 +226,7 @@ public class ItemServiceUnitTest {
     @Test
     void whenGetItemByIdWithWrongId_thenThrowItemNotFoundException() {
 
-        when(itemRepository.findById(1)).thenReturn(Optional.empty());
+        when(itemRepository.findItemDetailsById(eq(1), any(LocalDateTime.class))).thenReturn(Optional.empty());
 
         ItemNotFoundException ex = assertThrows(ItemNotFoundException.class,
                 () -> itemService.getItemById(1, 1));
@@ -278,8 +239,9 @@ public class ItemServiceUnitTest {
 
         when(userRepository.findById(1)).thenReturn(Optional.of(USER_1));
         ItemWithBooking itemWithBooking = mock(ItemWithBooking.class);
-        when(itemRepository.findItemsWithBookingsByOwnerId(eq(1), any(LocalDateTime.class),
-                any(OffsetPageRequest.class))).thenReturn(new PageImpl<>(List.of(itemWithBooking)));
+        when(itemRepository.findItemsWithSummaryByOwnerId(eq(1), any(LocalDateTime.class),
+                any(OffsetPageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(itemWithBooking)));
         when(itemWithBooking.getLastBooking()).thenReturn(1);
         when(itemWithBooking.getNextBooking()).thenReturn(2);
         when(bookingRepository.findAllById(any())).thenReturn(List.of(BOOKING_1, BOOKING_2));
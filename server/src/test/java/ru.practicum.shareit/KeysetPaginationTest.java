@@ -0,0 +1,134 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.pageable.KeysetCursor;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class KeysetPaginationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(0, "booker", "booker@mail.ru"));
+    }
+
+    /**
+     * Проходит список страницами по size, передавая X-Next-After в следующий запрос.
+     */
+    private List<Integer> walk(String path, int userId, int size) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        String after = "";
+        while (after != null) {
+            MockHttpServletResponse response = mockMvc.perform(get(path)
+                            .header("X-Sharer-User-Id", userId)
+                            .param("after", after)
+                            .param("size", String.valueOf(size)))
+                    .andReturn().getResponse();
+            assertThat(response.getStatus(), equalTo(200));
+            List<Integer> page = JsonPath.read(response.getContentAsString(), "$[*].id");
+            ids.addAll(page);
+            after = response.getHeader(KeysetCursor.NEXT_HEADER);
+        }
+        return ids;
+    }
+
+    @Test
+    void whenWalkBookings_thenAllInStartDescIdDescOrder() throws Exception {
+        Item item = itemRepository.save(new Item(0, "drill", "cordless", true, owner, null));
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // у пар бронирований одинаковое начало: порядок внутри пары задает id
+            LocalDateTime start = NOW.minusDays(i / 2);
+            bookings.add(bookingRepository.save(new Booking(0, start, start.plusHours(1), item, booker,
+                    BookingStatus.APPROVED)));
+        }
+        List<Integer> expected = bookings.stream()
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+
+        assertThat(walk("/bookings?state=ALL", booker.getId(), 3), equalTo(expected));
+        assertThat(walk("/bookings/owner?state=ALL", owner.getId(), 2), equalTo(expected));
+        assertThat(walk("/bookings?state=PAST", booker.getId(), 2), equalTo(expected.subList(2, 7)));
+    }
+
+    @Test
+    void whenWalkAllRequests_thenAllInCreatedDescOrder() throws Exception {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, itemRequestRepository.save(new ItemRequest(0, "request " + i, owner,
+                    NOW.plusMinutes(i), new ArrayList<>())).getId());
+        }
+        itemRequestRepository.save(new ItemRequest(0, "own request", booker, NOW, new ArrayList<>()));
+
+        assertThat(walk("/requests/all", booker.getId(), 2), equalTo(expected));
+    }
+
+    @Test
+    void whenWalkSearch_thenAvailableInIdOrder() throws Exception {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Item item = itemRepository.save(new Item(0, "drill " + i, "cordless", i != 2, owner, null));
+            if (item.isAvailable()) {
+                expected.add(item.getId());
+            }
+        }
+
+        assertThat(walk("/items/search?text=DRILL", owner.getId(), 2), equalTo(expected));
+    }
+
+    @Test
+    void whenCursorMalformed_thenBadRequest() throws Exception {
+        int status = mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("after", "not-a-cursor")
+                        .param("size", "2"))
+                .andReturn().getResponse().getStatus();
+
+        assertThat(status, equalTo(400));
+    }
+}
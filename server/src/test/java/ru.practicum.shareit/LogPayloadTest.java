@@ -0,0 +1,78 @@
+package ru.practicum.shareit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import ru.practicum.shareit.logging.LogPayload;
+import ru.practicum.shareit.logging.LogPayloadConfig;
+import ru.practicum.shareit.logging.LogPayloadProperties;
+import ru.practicum.shareit.user.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+public class LogPayloadTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogPayload.class);
+
+    @BeforeEach
+    void setUp() {
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.setLevel(null);
+        new LogPayloadConfig(new LogPayloadProperties());
+    }
+
+    private static List<UserDto> users(int count) {
+        List<UserDto> users = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            users.add(new UserDto(i, "user" + i, "user" + i + "@mail.ru"));
+        }
+        return users;
+    }
+
+    @Test
+    void whenNotSampled_thenCountAndIdsOnly() {
+        assertThat(LogPayload.of(users(3)).toString(), equalTo("3 шт., id=[1, 2, 3]"));
+        assertThat(LogPayload.of(users(12)).toString(), equalTo("12 шт., id=[1, 2, 3, 4, 5, 6, 7, 8, 9, 10, ...]"));
+        assertThat(LogPayload.of(List.of()).toString(), equalTo("0 шт."));
+        assertThat(LogPayload.of(new UserDto(5, "user5", "user5@mail.ru")).toString(), equalTo("UserDto(id=5)"));
+        assertThat(LogPayload.of(null), nullValue());
+    }
+
+    @Test
+    void whenDebugEnabled_thenFullPayload() {
+        logger.setLevel(Level.DEBUG);
+
+        assertThat(LogPayload.of(new UserDto(5, "user5", "user5@mail.ru")).toString(),
+                equalTo("UserDto(id=5, name=user5, email=user5@mail.ru)"));
+    }
+
+    @Test
+    void whenSampled_thenFullPayloadCappedByMaxLength() {
+        LogPayloadProperties properties = new LogPayloadProperties();
+        properties.setSampleRate(1);
+        properties.setMaxLength(100);
+        new LogPayloadConfig(properties);
+
+        assertThat(LogPayload.of(users(1)).toString(),
+                equalTo("[UserDto(id=1, name=user1, email=user1@mail.ru)]"));
+        String capped = LogPayload.of(users(1000)).toString();
+        assertThat(capped, startsWith("[UserDto(id=1, name=user1"));
+        assertThat(capped, endsWith(" символов)"));
+        assertThat(capped.length(), lessThan(150));
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.server-timing.enabled=true")
+@AutoConfigureMockMvc
+public class ServerTimingTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenGetUser_thenServerTimingWithPhasesAndTraceIdEchoed() throws Exception {
+        String created = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"user\",\"email\":\"timing@mail.ru\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int userId = objectMapper.readTree(created).get("id").asInt();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/users/" + userId)
+                        .header("X-Trace-Id", "trace-1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader("Server-Timing"), matchesPattern(
+                "db;dur=\\d+\\.\\d\\d, mapping;dur=\\d+\\.\\d\\d, serialization;dur=\\d+\\.\\d\\d, total;dur=\\d+\\.\\d\\d"));
+        assertThat(response.getHeader("Server-Timing"), matchesPattern("db;dur=(?!0\\.00,).*"));
+        assertThat(response.getHeader("X-Trace-Id"), equalTo("trace-1"));
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SlicePagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(0, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(0, "booker", "booker@mail.ru"));
+        Item drill = itemRepository.save(new Item(0, "drill", "cordless", true, owner, null));
+        itemRepository.save(new Item(0, "saw", "cordless", true, owner, null));
+        for (int i = 1; i <= 5; i++) {
+            LocalDateTime start = LocalDateTime.now().minusDays(i);
+            bookingRepository.save(new Booking(0, start, start.plusHours(1), drill, booker,
+                    i % 2 == 0 ? BookingStatus.WAITING : BookingStatus.APPROVED));
+        }
+    }
+
+    @Test
+    void whenFullPageOfOwnerBookings_thenNoCountQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "3"))
+                .andExpect(jsonPath("$.length()").value(3));
+
+        assertThat(statistics.getQueryExecutionCount(), equalTo(1L));
+    }
+
+    @Test
+    void whenCountRequested_thenTotalsReturned() throws Exception {
+        mockMvc.perform(get("/bookings/owner/count")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("state", "ALL"))
+                .andExpect(jsonPath("$.count").value(5));
+        mockMvc.perform(get("/bookings/count")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("state", "WAITING"))
+                .andExpect(jsonPath("$.count").value(2));
+        mockMvc.perform(get("/items/count")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(jsonPath("$.count").value(2));
+        mockMvc.perform(get("/items/search/count")
+                        .param("text", "CORD"))
+                .andExpect(jsonPath("$.count").value(2));
+    }
+}
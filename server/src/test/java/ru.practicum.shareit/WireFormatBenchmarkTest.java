@@ -0,0 +1,123 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingForItemDto;
+import ru.practicum.shareit.booking.BookingResponseDto;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentDto;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.item.ItemWithBookingAndCommentsDto;
+import ru.practicum.shareit.user.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Сравнение JSON и Smile на ответах списочных эндпоинтов (/items, /bookings/owner): размер тела
+ * и время кодирования в server / разбора в gateway (в Object, как это делает BaseClient).
+ * В обычном прогоне проверяется только, что Smile компактнее; замер времени выводится в лог
+ * в профиле benchmark: mvn test -Pbenchmark -Dtest=WireFormatBenchmarkTest.
+ */
+@Slf4j
+public class WireFormatBenchmarkTest {
+
+    private static final int LIST_SIZE = 1000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 100;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+    private static List<ItemWithBookingAndCommentsDto> ownerItems() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<ItemWithBookingAndCommentsDto> items = new ArrayList<>(LIST_SIZE);
+        for (int i = 1; i <= LIST_SIZE; i++) {
+            List<CommentDto> comments = List.of(
+                    new CommentDto(i * 2, "Отличная вещь, все работает", i, "user" + i, now.minusDays(3)),
+                    new CommentDto(i * 2 + 1, "Вернул вовремя, спасибо", i, "user" + (i + 1), now.minusDays(1)));
+            items.add(new ItemWithBookingAndCommentsDto(i, "item " + i, "description of item " + i, true, null,
+                    new BookingForItemDto(i * 2, now.minusDays(6), now.minusDays(3), i, 2, BookingStatus.APPROVED),
+                    new BookingForItemDto(i * 2 + 1, now.plusDays(3), now.plusDays(6), i, 3, BookingStatus.WAITING),
+                    comments));
+        }
+        return items;
+    }
+
+    private static List<BookingResponseDto> ownerBookings() {
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<BookingResponseDto> bookings = new ArrayList<>(LIST_SIZE);
+        for (int i = 1; i <= LIST_SIZE; i++) {
+            bookings.add(BookingResponseDto.builder()
+                    .id(i)
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i + 1))
+                    .item(new ItemDto(i % 50, "item " + i % 50, "description of item " + i % 50, true, null))
+                    .booker(new UserDto(i % 20, "user" + i % 20, "user" + i % 20 + "@mail.ru"))
+                    .status(BookingStatus.WAITING)
+                    .build());
+        }
+        return bookings;
+    }
+
+    @Test
+    void smileSmallerThanJsonForListEndpoints() throws Exception {
+        for (Object body : List.of(ownerItems(), ownerBookings())) {
+            assertThat(smile.writeValueAsBytes(body).length, lessThan(json.writeValueAsBytes(body).length));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void encodeAndDecodeTimesForListEndpoints() throws Exception {
+        compare("GET /items", ownerItems());
+        compare("GET /bookings/owner", ownerBookings());
+    }
+
+    private void compare(String endpoint, Object body) throws Exception {
+        Result jsonResult = measure(json, body);
+        Result smileResult = measure(smile, body);
+        log.info("{}, {} elements", endpoint, LIST_SIZE);
+        log.info("  JSON:  {} bytes, encode {} us, decode {} us",
+                jsonResult.size, jsonResult.encodeMicros, jsonResult.decodeMicros);
+        log.info("  Smile: {} bytes, encode {} us, decode {} us",
+                smileResult.size, smileResult.encodeMicros, smileResult.decodeMicros);
+    }
+
+    private static Result measure(ObjectMapper mapper, Object body) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        for (int i = 0; i < WARMUP; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(body), Object.class);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = mapper.writeValueAsBytes(body);
+        }
+        long encodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(bytes, Object.class);
+        }
+        long decodeNanos = System.nanoTime() - start;
+        return new Result(bytes.length, encodeNanos / ITERATIONS / 1000, decodeNanos / ITERATIONS / 1000);
+    }
+
+    private static final class Result {
+        private final int size;
+        private final long encodeMicros;
+        private final long decodeMicros;
+
+        Result(int size, long encodeMicros, long decodeMicros) {
+            this.size = size;
+            this.encodeMicros = encodeMicros;
+            this.decodeMicros = decodeMicros;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingResponseDto;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.user.UserDto;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class WireFormatTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final BookingResponseDto BOOKING = BookingResponseDto.builder()
+            .id(1)
+            .start(LocalDateTime.of(2030, 1, 1, 12, 0))
+            .end(LocalDateTime.of(2030, 1, 2, 12, 0))
+            .item(new ItemDto(1, "knife", "for vegetables", true, null))
+            .booker(new UserDto(2, "user2", "user2@mail.ru"))
+            .status(BookingStatus.WAITING)
+            .build();
+
+    @MockBean
+    private BookingService bookingService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenAcceptSmile_thenBodyInSmileWithSameFields() throws Exception {
+        when(bookingService.findOwnerItemsBookings(1, BookingState.ALL, 0, 15)).thenReturn(List.of(BOOKING));
+
+        byte[] body = mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=15")
+                        .header("X-Sharer-User-Id", 1)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode booking = new ObjectMapper(new SmileFactory()).readTree(body).get(0);
+        assertThat(booking.get("start").asText(), equalTo("2030-01-01T12:00:00"));
+        assertThat(booking.get("item").get("name").asText(), equalTo("knife"));
+        assertThat(booking.get("status").asText(), equalTo("WAITING"));
+    }
+
+    @Test
+    void whenNoAccept_thenBodyInJson() throws Exception {
+        when(bookingService.findOwnerItemsBookings(1, BookingState.ALL, 0, 15)).thenReturn(List.of(BOOKING));
+
+        mockMvc.perform(get("/bookings/owner?state=ALL&from=0&size=15")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T12:00:00"));
+    }
+}